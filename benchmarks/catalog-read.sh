@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Compares the JDBC (MVC) and R2DBC catalog read paths of restaurant-service under high
+# concurrency. Needs `hey` (https://github.com/rakyll/hey) and a running restaurant-service
+# with some restaurants in it; start it with a small Tomcat pool to reproduce thread exhaustion:
+#
+#   mvn -pl restaurant-service spring-boot:run -Dspring-boot.run.arguments=--server.tomcat.threads.max=50
+#
+# Usage: benchmarks/catalog-read.sh [base-url] [concurrency] [requests]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8082}
+CONCURRENCY=${2:-500}
+REQUESTS=${3:-50000}
+KEYWORD=${KEYWORD:-pizza}
+
+run() {
+    local label=$1 url=$2
+    echo "== $label: $url (c=$CONCURRENCY, n=$REQUESTS)"
+    # Warm up connection pools, JIT and caches before measuring
+    hey -n 2000 -c 50 "$url" > /dev/null
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$url" | grep -E 'Requests/sec|99% in|Status code|\[[0-9]+\]'
+}
+
+run "mvc list"        "$BASE_URL/api/restaurants?limit=50"
+run "reactive list"   "$BASE_URL/api/reactive/restaurants?limit=50"
+run "mvc search"      "$BASE_URL/api/restaurants/search?keyword=$KEYWORD"
+run "reactive search" "$BASE_URL/api/reactive/restaurants/search?keyword=$KEYWORD"
+run "mvc menu"        "$BASE_URL/api/restaurants/1/menu-items"
+run "reactive menu"   "$BASE_URL/api/reactive/restaurants/1/menu-items"
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Measures login and profile latency in user-service while a flood of logins saturates password
+# hashing. Needs `hey` (https://github.com/rakyll/hey) and curl. The flood comes from one address
+# and account, so start the service with the throttle opened up, otherwise it answers 429 before
+# any hashing happens:
+#
+#   mvn -pl user-service spring-boot:run -Dspring-boot.run.arguments="\
+#       --login-throttle.max-attempts-per-ip=100000000 --login-throttle.max-failures-per-account=100000000"
+#
+# Usage: benchmarks/login-flood.sh [base-url] [flood-concurrency] [flood-seconds]
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8081}
+FLOOD_CONCURRENCY=${2:-200}
+FLOOD_SECONDS=${3:-60}
+USERNAME=bench$RANDOM
+PASSWORD=bench-password
+
+curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/users/register" \
+    -d "{\"username\":\"$USERNAME\",\"email\":\"$USERNAME@example.com\",\"password\":\"$PASSWORD\",\"fullName\":\"Bench User\"}"
+LOGIN_BODY="{\"usernameOrEmail\":\"$USERNAME\",\"password\":\"$PASSWORD\"}"
+TOKEN=$(curl -sf -H 'Content-Type: application/json' "$BASE_URL/api/users/login" -d "$LOGIN_BODY" \
+    | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+measure() {
+    local label=$1
+    echo "== $label"
+    echo "-- profile"
+    hey -z 20s -c 20 -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/users/profile" \
+        | grep -E 'Requests/sec|99% in|\[[0-9]+\]'
+    echo "-- login"
+    hey -z 20s -c 5 -m POST -T application/json -d "$LOGIN_BODY" "$BASE_URL/api/users/login" \
+        | grep -E 'Requests/sec|99% in|\[[0-9]+\]'
+}
+
+measure "baseline"
+
+# Wrong password: every request costs a full BCrypt comparison
+hey -z "${FLOOD_SECONDS}s" -c "$FLOOD_CONCURRENCY" -m POST -T application/json \
+    -d "{\"usernameOrEmail\":\"$USERNAME\",\"password\":\"wrong-password\"}" \
+    "$BASE_URL/api/users/login" > /tmp/login-flood.txt &
+FLOOD_PID=$!
+sleep 5
+
+measure "under a hashing flood (c=$FLOOD_CONCURRENCY)"
+
+wait "$FLOOD_PID"
+echo "== flood requests"
+grep -E 'Requests/sec|\[[0-9]+\]' /tmp/login-flood.txt
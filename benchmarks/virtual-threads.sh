@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Runs the same JDBC-bound catalog listing load against restaurant-service on platform threads
+# (the default Tomcat pool) and on virtual threads (the virtual-threads profile), and reports
+# throughput, latency and memory for each. Needs `hey` (https://github.com/rakyll/hey), curl and
+# a Java 21+ `java` on the PATH (or JAVA=...). Each run starts its own instance on an empty
+# in-memory database and seeds it; a missing Eureka server only costs some log noise.
+#
+# Usage: benchmarks/virtual-threads.sh [concurrency] [duration]
+set -euo pipefail
+
+CONCURRENCY=${1:-1000}
+DURATION=${2:-60s}
+PORT=${PORT:-8082}
+JAVA=${JAVA:-java}
+JAR=${JAR:-restaurant-service/target/restaurant-service-1.0.0.jar}
+BASE_URL="http://localhost:$PORT"
+
+if [ ! -f "$JAR" ]; then
+    mvn -q -pl restaurant-service -am package -DskipTests
+fi
+
+metric() {
+    curl -sf "$BASE_URL/actuator/metrics/$1" | sed -n 's/.*"value":\([0-9.E+]*\).*/\1/p'
+}
+
+run() {
+    local label=$1 profiles=$2
+    echo "== $label"
+    "$JAVA" -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "/tmp/virtual-threads-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf -o /dev/null "$BASE_URL/actuator/health"; do sleep 1; done
+
+    for i in $(seq 1 50); do
+        curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/restaurants" \
+            -d "{\"name\":\"Bench $i\",\"description\":\"Pizza and pasta\",\"address\":\"$i Main St\",\"email\":\"bench$i@example.com\",\"ownerId\":1}"
+    done
+
+    # Warm up connection pools, JIT and caches before measuring
+    hey -z 10s -c 50 "$BASE_URL/api/restaurants?limit=50" > /dev/null
+
+    ( while kill -0 "$pid" 2>/dev/null; do ps -o rss= -p "$pid"; sleep 1; done ) > "/tmp/virtual-threads-$label.rss" &
+    local sampler=$!
+    hey -z "$DURATION" -c "$CONCURRENCY" "$BASE_URL/api/restaurants?limit=50" \
+        | grep -E 'Requests/sec|50% in|99% in|\[[0-9]+\]'
+    echo "heap used (bytes): $(metric 'jvm.memory.used?tag=area:heap')"
+    echo "live threads: $(metric jvm.threads.live)"
+    kill "$sampler" 2>/dev/null || true
+    echo "peak RSS (KiB): $(sort -n "/tmp/virtual-threads-$label.rss" | tail -1)"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform default
+run virtual virtual-threads
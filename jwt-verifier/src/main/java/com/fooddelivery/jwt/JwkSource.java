@@ -0,0 +1,15 @@
+package com.fooddelivery.jwt;
+
+import java.security.PublicKey;
+
+/**
+ * Looks up a token signing key by its {@code kid}.
+ */
+@FunctionalInterface
+public interface JwkSource {
+
+    /**
+     * Returns the public key published under {@code keyId}, or {@code null} if there is none.
+     */
+    PublicKey getKey(String keyId);
+}
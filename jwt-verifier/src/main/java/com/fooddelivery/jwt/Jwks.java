@@ -0,0 +1,106 @@
+package com.fooddelivery.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Web Key Set (RFC 7517) encoding of RSA signing keys, plus the RFC 7638 thumbprint used as
+ * the {@code kid} so a key's id follows from the key itself.
+ */
+public final class Jwks {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Jwks() {
+    }
+
+    public static String thumbprint(RSAPublicKey key) {
+        // Required members only, in lexicographic order, no whitespace
+        String canonical = "{\"e\":\"" + encode(key.getPublicExponent()) + "\",\"kty\":\"RSA\",\"n\":\""
+                + encode(key.getModulus()) + "\"}";
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String toJson(Map<String, RSAPublicKey> keys) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode entries = root.putArray("keys");
+        keys.forEach((keyId, key) -> entries.addObject()
+                .put("kty", "RSA")
+                .put("use", "sig")
+                .put("alg", "RS256")
+                .put("kid", keyId)
+                .put("n", encode(key.getModulus()))
+                .put("e", encode(key.getPublicExponent())));
+        return root.toString();
+    }
+
+    /**
+     * Reads the RSA signing keys of a key set, keyed by {@code kid}. Entries of other key types
+     * or uses are skipped.
+     */
+    public static Map<String, RSAPublicKey> parse(String json) throws IOException {
+        JsonNode entries = MAPPER.readTree(json).path("keys");
+        if (!entries.isArray()) {
+            return Collections.emptyMap();
+        }
+        Map<String, RSAPublicKey> keys = new LinkedHashMap<>();
+        KeyFactory keyFactory = rsaKeyFactory();
+        for (JsonNode entry : entries) {
+            if (!"RSA".equals(entry.path("kty").asText()) || !entry.hasNonNull("kid")
+                    || (entry.has("use") && !"sig".equals(entry.path("use").asText()))) {
+                continue;
+            }
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(decode(entry.path("n").asText()), decode(entry.path("e").asText()));
+            try {
+                keys.put(entry.get("kid").asText(), (RSAPublicKey) keyFactory.generatePublic(spec));
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Invalid RSA key " + entry.get("kid").asText(), e);
+            }
+        }
+        return keys;
+    }
+
+    private static KeyFactory rsaKeyFactory() {
+        try {
+            return KeyFactory.getInstance("RSA");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    // Unsigned big-endian, as JWK requires: drop the sign byte BigInteger adds
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static BigInteger decode(String value) {
+        return new BigInteger(1, DECODER.decode(value));
+    }
+}
@@ -0,0 +1,58 @@
+package com.fooddelivery.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.security.Key;
+import java.security.PublicKey;
+
+/**
+ * Verifies RS256 tokens issued by user-service against keys from a {@link JwkSource}, entirely
+ * in-process. The key is chosen by the token's {@code kid} header; tokens without one, or signed
+ * with any other algorithm, are rejected. Thread-safe; build one per application and share it.
+ */
+public class JwtVerifier {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+
+    private final JwtParser parser;
+
+    public JwtVerifier(JwkSource keys) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+                            throw new UnsupportedJwtException("Unsupported JWT algorithm: " + header.getAlgorithm());
+                        }
+                        String keyId = header.getKeyId();
+                        if (keyId == null) {
+                            throw new UnsupportedJwtException("JWT has no kid header");
+                        }
+                        PublicKey key = keys.getKey(keyId);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown JWT signing key: " + keyId);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Checks signature and expiry and returns the token's claims.
+     *
+     * @throws JwtException if the token is not valid
+     */
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,119 @@
+package com.fooddelivery.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keys fetched from a remote {@code /.well-known/jwks.json} and held in memory. {@link #start()}
+ * fetches the set once and then refreshes it in the background every refresh interval, so
+ * {@link #getKey} never waits on the network and is safe to call from an event loop. A token
+ * naming a key the set does not contain (a rotation) triggers an early background re-fetch, at
+ * most once per minimum re-fetch interval, so tokens with made-up key ids cannot turn into a
+ * request storm; that token itself is rejected. A failed fetch keeps the keys already known.
+ */
+public class RemoteJwkSource implements JwkSource, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteJwkSource.class);
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(2);
+
+    private final URI jwksUri;
+    private final long refreshIntervalNanos;
+    private final long minRefetchIntervalNanos;
+    private final HttpClient httpClient;
+    private final AtomicBoolean fetching = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, RSAPublicKey> keys = Collections.emptyMap();
+    private volatile long lastFetchNanos;
+
+    public RemoteJwkSource(String jwksUrl) {
+        this(URI.create(jwksUrl), Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    public RemoteJwkSource(URI jwksUri, Duration refreshInterval, Duration minRefetchInterval) {
+        this.jwksUri = jwksUri;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.minRefetchIntervalNanos = minRefetchInterval.toNanos();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(FETCH_TIMEOUT)
+                .build();
+        // Lets the first lookup trigger a fetch when start() was not called
+        this.lastFetchNanos = System.nanoTime() - minRefetchIntervalNanos;
+    }
+
+    /**
+     * Fetches the key set, waiting for it so the first requests find their keys, and schedules
+     * the periodic refresh. Call once at startup, off any event loop.
+     */
+    public void start() {
+        fetch().join();
+        scheduler.scheduleWithFixedDelay(this::fetch, refreshIntervalNanos, refreshIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public PublicKey getKey(String keyId) {
+        RSAPublicKey key = keys.get(keyId);
+        if (key == null && System.nanoTime() - lastFetchNanos > minRefetchIntervalNanos) {
+            fetch();
+        }
+        return key;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<Void> fetch() {
+        if (!fetching.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        lastFetchNanos = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(FETCH_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenAccept(this::accept)
+                .exceptionally(e -> {
+                    logger.warn("JWKS fetch from {} failed: {}", jwksUri, e.getMessage());
+                    return null;
+                })
+                .whenComplete((ignored, e) -> fetching.set(false));
+    }
+
+    private void accept(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            logger.warn("JWKS fetch from {} returned {}", jwksUri, response.statusCode());
+            return;
+        }
+        try {
+            keys = Jwks.parse(response.body());
+            logger.debug("Fetched {} signing keys from {}", keys.size(), jwksUri);
+        } catch (IOException e) {
+            logger.warn("JWKS from {} could not be parsed: {}", jwksUri, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fooddelivery.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JwksTest {
+
+    // The RSA key of RFC 7638 section 3.1
+    private static final String RFC_7638_N = "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAtVT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPebWKRXjBZCiFV4n3oknjhMstn64tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FDW2QvzqY368QQMicAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n91CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3XPksINHaQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw";
+    private static final String RFC_7638_E = "AQAB";
+    private static final String RFC_7638_THUMBPRINT = "NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs";
+
+    @Test
+    void thumbprintMatchesRfc7638Example() throws Exception {
+        assertEquals(RFC_7638_THUMBPRINT, Jwks.thumbprint(rfc7638Key()));
+    }
+
+    @Test
+    void parsedKeySetRoundTripsThroughJson() throws Exception {
+        RSAPublicKey key = rfc7638Key();
+        Map<String, RSAPublicKey> parsed = Jwks.parse(Jwks.toJson(Collections.singletonMap(RFC_7638_THUMBPRINT, key)));
+
+        assertEquals(1, parsed.size());
+        assertEquals(key.getModulus(), parsed.get(RFC_7638_THUMBPRINT).getModulus());
+        assertEquals(key.getPublicExponent(), parsed.get(RFC_7638_THUMBPRINT).getPublicExponent());
+    }
+
+    private static RSAPublicKey rfc7638Key() throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(new BigInteger(1, decoder.decode(RFC_7638_N)),
+                new BigInteger(1, decoder.decode(RFC_7638_E)));
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+    }
+}
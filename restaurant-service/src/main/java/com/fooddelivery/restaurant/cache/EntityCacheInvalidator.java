@@ -0,0 +1,47 @@
+package com.fooddelivery.restaurant.cache;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnit;
+
+/**
+ * Keeps Hibernate's second-level and query caches in step with a row written over plain JDBC.
+ * Hibernate treats any bulk or native update as touching the whole table and evicts every cached
+ * entity of that type; this evicts only the written entry and marks the table's cached query
+ * results stale, the same way Hibernate does for its own bulk updates.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Must be called inside the writing transaction, before the write, so that query results
+     * cached while it is in flight are already considered stale.
+     */
+    public void beforeRowUpdate(Class<?> entityClass, Long id, String table) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        String[] spaces = {table};
+        timestamps.preInvalidate(spaces, session);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entityManagerFactory.getCache().evict(entityClass, id);
+                timestamps.invalidate(spaces, session);
+            }
+        });
+    }
+}
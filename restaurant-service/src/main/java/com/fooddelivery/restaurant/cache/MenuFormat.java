@@ -0,0 +1,62 @@
+package com.fooddelivery.restaurant.cache;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodings a menu snapshot can be served in. CBOR and Smile carry the same data model as the
+ * JSON body (see {@code /schemas/menu.cddl}) in a binary form with no quoting or text numbers;
+ * Smile additionally back-references repeated keys and short values such as the category.
+ */
+public enum MenuFormat {
+
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile");
+
+    private final MediaType mediaType;
+    private final String tag;
+
+    MenuFormat(MediaType mediaType, String tag) {
+        this.mediaType = mediaType;
+        this.tag = tag;
+    }
+
+    /**
+     * Picks the format the {@code Accept} header prefers, JSON when the header is missing or
+     * unparseable, or {@code null} when nothing offered is acceptable.
+     */
+    public static MenuFormat negotiate(String accept) {
+        if (accept == null || accept.trim().isEmpty()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType candidate : accepted) {
+            if (candidate.getQualityValue() <= 0) {
+                continue;
+            }
+            for (MenuFormat format : values()) {
+                if (candidate.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,154 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.search.MenuFacets;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-serialized menu of one restaurant, together with the facet bitmaps built from
+ * the same items. The ETag is derived from the body so every node serving the same menu hands
+ * out the same validator. Other formats and gzipped bodies are encoded on first request and kept
+ * for the life of the snapshot, each under its own ETag.
+ */
+public final class MenuSnapshot {
+
+    private final Long restaurantId;
+    private final long version;
+    private final byte[] body;
+    private final String etag;
+    private final MenuFacets facets;
+    private final List<MenuItemSummary> items;
+    private final String digest;
+    private final ConcurrentMap<String, Representation> representations = new ConcurrentHashMap<>();
+
+    public MenuSnapshot(Long restaurantId, long version, List<MenuItemSummary> items, byte[] body) {
+        this.restaurantId = restaurantId;
+        this.version = version;
+        this.body = body;
+        this.digest = digest(body);
+        this.etag = "\"" + digest + "\"";
+        this.facets = new MenuFacets(items);
+        this.items = items;
+        representations.put(key(MenuFormat.JSON, false), new Representation(MenuFormat.JSON, false, body, etag));
+    }
+
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, etag);
+    }
+
+    /**
+     * Returns the menu in {@code format}, gzipped if asked, encoding it on first use. The encoded
+     * variants reuse the snapshot's digest, so the ETag stays stable for as long as the menu does.
+     */
+    Representation representation(MenuFormat format, boolean gzip,
+                                  Function<MenuFormat, byte[]> encoder, Function<byte[], byte[]> compressor) {
+        Representation identity = representations.computeIfAbsent(key(format, false),
+                key -> new Representation(format, false, encoder.apply(format), variantEtag(format, false)));
+        if (!gzip) {
+            return identity;
+        }
+        return representations.computeIfAbsent(key(format, true),
+                key -> new Representation(format, true, compressor.apply(identity.getBody()), variantEtag(format, true)));
+    }
+
+    private String variantEtag(MenuFormat format, boolean gzip) {
+        return "\"" + digest + "-" + format.getTag() + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    private static String key(MenuFormat format, boolean gzip) {
+        return gzip ? format.getTag() + "+gzip" : format.getTag();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public MenuFacets getFacets() {
+        return facets;
+    }
+
+    List<MenuItemSummary> getItems() {
+        return items;
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class Representation {
+        private final MenuFormat format;
+        private final boolean gzipped;
+        private final byte[] body;
+        private final String etag;
+
+        private Representation(MenuFormat format, boolean gzipped, byte[] body, String etag) {
+            this.format = format;
+            this.gzipped = gzipped;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            return MenuSnapshot.matches(ifNoneMatch, etag);
+        }
+
+        public MenuFormat getFormat() {
+            return format;
+        }
+
+        public boolean isGzipped() {
+            return gzipped;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.cache.MenuSnapshot.Representation;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-restaurant menu snapshots, bounded by {@code menu-snapshots.max-size}. Reads are served from
+ * the cached bytes; every menu write stamps the restaurant with a new version and drops its
+ * snapshot, and a snapshot built under a stamp that was superseded while it was being loaded is
+ * returned to its caller but never cached. Unknown restaurants are never cached.
+ * <p>
+ * Invalidation is local to this node. Snapshots expire {@code menu-snapshots.ttl-seconds} after
+ * they are built, which bounds how long other instances keep serving a menu changed elsewhere.
+ */
+@Component
+public class MenuSnapshotCache {
+
+    // Below this a gzip frame saves too little to be worth the client's inflate
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    @Value("${menu-snapshots.max-size:10000}")
+    private long maxSize;
+
+    @Value("${menu-snapshots.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    // Stamps come from one counter, so a stamp recreated after eviction never matches an old one
+    private final AtomicLong stampSequence = new AtomicLong();
+
+    private Cache<Long, MenuSnapshot> snapshots;
+    private Cache<Long, Long> versions;
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public MenuSnapshot getSnapshot(Long restaurantId) {
+        MenuSnapshot snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long version = versionOf(restaurantId);
+        List<MenuItemSummary> menuItems = menuItemRepository.findSummariesByRestaurantId(restaurantId);
+        if (menuItems.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        MenuSnapshot built = new MenuSnapshot(restaurantId, version, menuItems, serialize(MenuFormat.JSON, menuItems));
+        snapshots.asMap().compute(restaurantId, (id, current) -> versionOf(id) == version ? built : current);
+        return built;
+    }
+
+    /**
+     * The restaurant's current menu encoded as {@code format}, gzipped when the client accepts it
+     * and the body is large enough to benefit. Encodings are cached with the snapshot.
+     */
+    public Representation getRepresentation(Long restaurantId, MenuFormat format, boolean acceptsGzip) {
+        MenuSnapshot snapshot = getSnapshot(restaurantId);
+        Representation identity = snapshot.representation(format, false, f -> serialize(f, snapshot.getItems()), this::gzip);
+        if (!acceptsGzip || identity.getBody().length < MIN_GZIP_BYTES) {
+            return identity;
+        }
+        return snapshot.representation(format, true, f -> serialize(f, snapshot.getItems()), this::gzip);
+    }
+
+    public void invalidate(Long restaurantId) {
+        snapshots.asMap().compute(restaurantId, (id, current) -> {
+            versions.put(id, stampSequence.incrementAndGet());
+            return null;
+        });
+    }
+
+    private long versionOf(Long restaurantId) {
+        return versions.get(restaurantId, id -> stampSequence.incrementAndGet());
+    }
+
+    private byte[] serialize(MenuFormat format, List<MenuItemSummary> menuItems) {
+        ObjectMapper mapper;
+        switch (format) {
+            case CBOR:
+                mapper = cborConverter.getObjectMapper();
+                break;
+            case SMILE:
+                mapper = smileConverter.getObjectMapper();
+                break;
+            default:
+                mapper = objectMapper;
+        }
+        try {
+            return mapper.writeValueAsBytes(menuItems);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu snapshot as " + format, e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress menu snapshot", e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fooddelivery.restaurant.config;
+
+import com.fooddelivery.restaurant.datasource.H2ReplicaSync;
+import com.fooddelivery.restaurant.datasource.ReadWriteRoutingDataSource;
+import com.fooddelivery.restaurant.datasource.ReadYourWritesFilter;
+import com.fooddelivery.restaurant.datasource.ReplicaReadCacheMode;
+import com.fooddelivery.restaurant.service.RestaurantService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits reads from writes when {@code datasource.routing.enabled} is set. {@code spring.datasource}
+ * stays the primary; each URL in {@code datasource.routing.replica-urls} gets its own pool with
+ * the same credentials and driver. Only read-only transactions declared on the service layer are
+ * sent to the replicas, and those read the second-level and query caches without filling them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.routing.replica-urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.routing.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties, HikariDataSource primaryDataSource,
+                                                        ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i).trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replicas.add(replica);
+        }
+        String servicePackage = RestaurantService.class.getPackage().getName() + ".";
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, name -> name.startsWith(servicePackage),
+                new ReplicaReadCacheMode(entityManagerFactory));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindowMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @Profile("local-replica")
+    public H2ReplicaSync h2ReplicaSync(ReadWriteRoutingDataSource routingDataSource) {
+        return new H2ReplicaSync(routingDataSource);
+    }
+}
@@ -0,0 +1,39 @@
+package com.fooddelivery.restaurant.config;
+
+import com.fooddelivery.jwt.JwtVerifier;
+import com.fooddelivery.jwt.RemoteJwkSource;
+import com.fooddelivery.restaurant.security.BearerTokenFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local verification of user-service tokens, switched on by setting {@code jwt.jwks-url}. The key
+ * set is fetched once while the context starts and refreshed in the background afterwards.
+ */
+@Configuration
+@ConditionalOnExpression("!'${jwt.jwks-url:}'.isEmpty()")
+public class JwtVerifierConfig {
+
+    @Value("${jwt.jwks-url}")
+    private String jwksUrl;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public RemoteJwkSource jwkSource() {
+        return new RemoteJwkSource(jwksUrl);
+    }
+
+    @Bean
+    public JwtVerifier jwtVerifier(RemoteJwkSource jwkSource) {
+        return new JwtVerifier(jwkSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BearerTokenFilter> bearerTokenFilter(JwtVerifier jwtVerifier) {
+        FilterRegistrationBean<BearerTokenFilter> registration = new FilterRegistrationBean<>(new BearerTokenFilter(jwtVerifier));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.service.CatalogExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Full-catalog NDJSON feeds for downstream indexers. The body is written on the request thread
+ * while the database cursor is open, so there is no async timeout to outlive on long exports.
+ */
+@RestController
+@RequestMapping("/api/restaurants/export")
+public class CatalogExportController {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @GetMapping("/restaurants")
+    public void exportRestaurants(@RequestParam(defaultValue = "0") long after,
+                                  HttpServletResponse response) throws IOException {
+        catalogExportService.exportRestaurants(validAfter(after), ndjson(response));
+    }
+
+    @GetMapping("/menu-items")
+    public void exportMenuItems(@RequestParam(defaultValue = "0") long after,
+                                HttpServletResponse response) throws IOException {
+        catalogExportService.exportMenuItems(validAfter(after), ndjson(response));
+    }
+
+    private static long validAfter(long after) {
+        if (after < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must not be negative");
+        }
+        return after;
+    }
+
+    private static ServletOutputStream ndjson(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        return response.getOutputStream();
+    }
+}
@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.controller.MenuItemController.ErrorResponse;
+import com.fooddelivery.restaurant.dto.BatchLookupRequest;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.service.MenuItemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants/menu-items")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class MenuItemBatchController {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> getMenuItemsByIds(@Valid @RequestBody BatchLookupRequest request) {
+        try {
+            List<MenuItemSummary> menuItems = menuItemService.getMenuItemsByIds(request.getIds());
+            return ResponseEntity.ok(menuItems);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package com.fooddelivery.restaurant.controller;
 
+import com.fooddelivery.restaurant.cache.MenuFormat;
+import com.fooddelivery.restaurant.cache.MenuSnapshot;
+import com.fooddelivery.restaurant.dto.CursorPage;
+import com.fooddelivery.restaurant.dto.FacetedMenuResult;
+import com.fooddelivery.restaurant.dto.MenuChanges;
+import com.fooddelivery.restaurant.dto.MenuFacetQuery;
 import com.fooddelivery.restaurant.dto.MenuItemDto;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.StatusUpdate;
+import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
 import com.fooddelivery.restaurant.model.MenuItem;
 import com.fooddelivery.restaurant.service.MenuItemService;
+import com.fooddelivery.support.BulkImportResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,42 +45,112 @@ public class MenuItemController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importMenuItems(@PathVariable Long restaurantId, @RequestBody List<MenuItemDto> menuItemDtos) {
+        try {
+            BulkImportResult result = menuItemService.importMenuItems(restaurantId, menuItemDtos);
+            return bulkImportResponse(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importMenuItemsCsv(@PathVariable Long restaurantId, @RequestBody String csv) {
+        try {
+            BulkImportResult result = menuItemService.importMenuItemsCsv(restaurantId, csv);
+            return bulkImportResponse(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getMenuItemsByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getMenuItemsByRestaurant(@PathVariable Long restaurantId,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MenuFormat format = MenuFormat.negotiate(accept);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        MenuSnapshot.Representation representation;
+        try {
+            representation = menuItemService.getMenuRepresentation(restaurantId, format, acceptsGzip(acceptEncoding));
+        } catch (RestaurantNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (representation.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(representation.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(representation.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(representation.getFormat().getMediaType());
+        if (representation.isGzipped()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(representation.getBody());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getMenuChanges(@PathVariable Long restaurantId,
+                                            @RequestParam(defaultValue = "0") long since) {
+        try {
+            MenuChanges changes = menuItemService.getMenuChanges(restaurantId, since);
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<FacetedMenuResult> filterMenuItems(@PathVariable Long restaurantId, MenuFacetQuery query) {
+        try {
+            FacetedMenuResult result = menuItemService.filterMenuItems(restaurantId, query);
+            return ResponseEntity.ok(result);
+        } catch (RestaurantNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<MenuItem>> getAvailableMenuItems(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getAvailableMenuItemsByRestaurant(restaurantId);
+    public ResponseEntity<List<MenuItemSummary>> getAvailableMenuItems(@PathVariable Long restaurantId) {
+        List<MenuItemSummary> menuItems = menuItemService.getAvailableMenuItemsByRestaurant(restaurantId);
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<MenuItem>> getMenuItemsByCategory(@PathVariable Long restaurantId, 
+    public ResponseEntity<List<MenuItemSummary>> getMenuItemsByCategory(@PathVariable Long restaurantId, 
                                                                @PathVariable MenuItem.Category category) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByRestaurantAndCategory(restaurantId, category);
+        List<MenuItemSummary> menuItems = menuItemService.getMenuItemsByRestaurantAndCategory(restaurantId, category);
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/vegetarian")
-    public ResponseEntity<List<MenuItem>> getVegetarianMenuItems(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getVegetarianMenuItemsByRestaurant(restaurantId);
+    public ResponseEntity<List<MenuItemSummary>> getVegetarianMenuItems(@PathVariable Long restaurantId) {
+        List<MenuItemSummary> menuItems = menuItemService.getVegetarianMenuItemsByRestaurant(restaurantId);
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/price-range")
-    public ResponseEntity<List<MenuItem>> getMenuItemsByPriceRange(@PathVariable Long restaurantId,
+    public ResponseEntity<List<MenuItemSummary>> getMenuItemsByPriceRange(@PathVariable Long restaurantId,
                                                                  @RequestParam BigDecimal minPrice,
                                                                  @RequestParam BigDecimal maxPrice) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByPriceRange(restaurantId, minPrice, maxPrice);
+        List<MenuItemSummary> menuItems = menuItemService.getMenuItemsByPriceRange(restaurantId, minPrice, maxPrice);
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<MenuItem>> searchMenuItems(@PathVariable Long restaurantId, @RequestParam String keyword) {
-        List<MenuItem> menuItems = menuItemService.searchMenuItems(restaurantId, keyword);
+    public ResponseEntity<List<MenuItemSummary>> searchMenuItems(@PathVariable Long restaurantId,
+                                                          @RequestParam String keyword,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        List<MenuItemSummary> menuItems = menuItemService.searchMenuItems(restaurantId, keyword, limit);
         return ResponseEntity.ok(menuItems);
     }
 
@@ -85,6 +169,8 @@ public class MenuItemController {
             menuItemDto.setRestaurantId(restaurantId);
             MenuItem updatedMenuItem = menuItemService.updateMenuItem(itemId, menuItemDto);
             return ResponseEntity.ok(updatedMenuItem);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
         }
@@ -93,10 +179,13 @@ public class MenuItemController {
     @PatchMapping("/{itemId}/status")
     public ResponseEntity<?> updateMenuItemStatus(@PathVariable Long restaurantId, 
                                                  @PathVariable Long itemId, 
-                                                 @RequestParam MenuItem.Status status) {
+                                                 @RequestParam MenuItem.Status status,
+                                                 @RequestParam(required = false) Long version) {
         try {
-            MenuItem updatedMenuItem = menuItemService.updateMenuItemStatus(itemId, status);
-            return ResponseEntity.ok(updatedMenuItem);
+            long newVersion = menuItemService.updateMenuItemStatus(restaurantId, itemId, status, version);
+            return ResponseEntity.ok(new StatusUpdate(itemId, status.name(), newVersion));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
         }
@@ -114,29 +203,55 @@ public class MenuItemController {
 
     // Global menu item endpoints (not restaurant specific)
     @GetMapping("/all")
-    public ResponseEntity<List<MenuItem>> getAllMenuItems() {
-        List<MenuItem> menuItems = menuItemService.getAllMenuItems();
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<?> getAllMenuItems(@RequestParam(required = false) String after,
+                                             @RequestParam(defaultValue = "50") int limit) {
+        try {
+            CursorPage<MenuItemSummary> page = menuItemService.getMenuItemsPage(after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/all/category/{category}")
-    public ResponseEntity<List<MenuItem>> getAllMenuItemsByCategory(@PathVariable MenuItem.Category category) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByCategory(category);
+    public ResponseEntity<List<MenuItemSummary>> getAllMenuItemsByCategory(@PathVariable MenuItem.Category category) {
+        List<MenuItemSummary> menuItems = menuItemService.getMenuItemsByCategory(category);
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/all/vegetarian")
-    public ResponseEntity<List<MenuItem>> getAllVegetarianMenuItems() {
-        List<MenuItem> menuItems = menuItemService.getVegetarianMenuItems();
+    public ResponseEntity<List<MenuItemSummary>> getAllVegetarianMenuItems() {
+        List<MenuItemSummary> menuItems = menuItemService.getVegetarianMenuItems();
         return ResponseEntity.ok(menuItems);
     }
 
     @GetMapping("/all/vegan")
-    public ResponseEntity<List<MenuItem>> getAllVeganMenuItems() {
-        List<MenuItem> menuItems = menuItemService.getVeganMenuItems();
+    public ResponseEntity<List<MenuItemSummary>> getAllVeganMenuItems() {
+        List<MenuItemSummary> menuItems = menuItemService.getVeganMenuItems();
         return ResponseEntity.ok(menuItems);
     }
 
+    private ResponseEntity<BulkImportResult> bulkImportResponse(BulkImportResult result) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     // Inner classes for responses
     public static class MessageResponse {
         private String message;
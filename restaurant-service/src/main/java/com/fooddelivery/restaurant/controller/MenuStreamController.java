@@ -0,0 +1,38 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.stream.MenuEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class MenuStreamController {
+
+    public static final int MAX_STREAM_RESTAURANTS = 200;
+
+    @Autowired
+    private MenuEventHub menuEventHub;
+
+    @GetMapping(value = "/{restaurantId}/menu-items/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuEvents(@PathVariable Long restaurantId) {
+        return menuEventHub.subscribe(Collections.singletonList(restaurantId));
+    }
+
+    @GetMapping(value = "/menu-items/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuEvents(@RequestParam List<Long> restaurantIds) {
+        // The response is an event stream from the start, so a bad request cannot carry an ErrorResponse body
+        if (restaurantIds.isEmpty() || restaurantIds.size() > MAX_STREAM_RESTAURANTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_STREAM_RESTAURANTS + " restaurant ids are required");
+        }
+        return menuEventHub.subscribe(restaurantIds);
+    }
+}
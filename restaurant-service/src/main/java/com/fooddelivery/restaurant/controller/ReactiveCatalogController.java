@@ -0,0 +1,61 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.service.ReactiveCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the catalog reads, served from R2DBC under {@code /api/reactive} so
+ * they can be load-tested side by side with the JDBC-backed endpoints. List endpoints stream as
+ * newline-delimited JSON when the client asks for {@code application/x-ndjson}.
+ */
+@RestController
+@RequestMapping("/api/reactive/restaurants")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveCatalogController {
+
+    @Autowired
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllRestaurants(@RequestParam(required = false) String after,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        return Mono.defer(() -> reactiveCatalogService.getRestaurantsPage(after, limit))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                        .body(new RestaurantController.ErrorResponse("Error: " + e.getMessage()))));
+    }
+
+    @GetMapping("/active")
+    public Mono<ResponseEntity<?>> getActiveRestaurants(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        return Mono.defer(() -> reactiveCatalogService.getActiveRestaurantsPage(after, limit))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                        .body(new RestaurantController.ErrorResponse("Error: " + e.getMessage()))));
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RestaurantSummary> searchRestaurants(@RequestParam String keyword,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        return reactiveCatalogService.searchRestaurants(keyword, limit);
+    }
+
+    @GetMapping(value = "/{restaurantId}/menu-items", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<MenuItemSummary> getMenu(@PathVariable Long restaurantId) {
+        return reactiveCatalogService.getMenu(restaurantId);
+    }
+
+    @GetMapping(value = "/{restaurantId}/menu-items/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<MenuItemSummary> searchMenuItems(@PathVariable Long restaurantId,
+                                                 @RequestParam String keyword,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        return reactiveCatalogService.searchMenuItems(restaurantId, keyword, limit);
+    }
+}
@@ -1,9 +1,18 @@
 package com.fooddelivery.restaurant.controller;
 
+import com.fooddelivery.restaurant.dto.BatchLookupRequest;
+import com.fooddelivery.restaurant.dto.CursorPage;
+import com.fooddelivery.restaurant.dto.NearbyRestaurant;
 import com.fooddelivery.restaurant.dto.RestaurantDto;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.dto.ReviewDto;
+import com.fooddelivery.restaurant.dto.StatusUpdate;
+import com.fooddelivery.restaurant.dto.Suggestions;
 import com.fooddelivery.restaurant.model.Restaurant;
 import com.fooddelivery.restaurant.service.RestaurantService;
+import com.fooddelivery.restaurant.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +28,9 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @PostMapping
     public ResponseEntity<?> createRestaurant(@Valid @RequestBody RestaurantDto restaurantDto) {
         try {
@@ -30,15 +42,48 @@ public class RestaurantController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
-        return ResponseEntity.ok(restaurants);
+    public ResponseEntity<?> getAllRestaurants(@RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "50") int limit) {
+        try {
+            CursorPage<RestaurantSummary> page = restaurantService.getRestaurantsPage(after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Restaurant>> getActiveRestaurants() {
-        List<Restaurant> restaurants = restaurantService.getActiveRestaurants();
-        return ResponseEntity.ok(restaurants);
+    public ResponseEntity<?> getActiveRestaurants(@RequestParam(required = false) String after,
+                                                  @RequestParam(defaultValue = "50") int limit) {
+        try {
+            CursorPage<RestaurantSummary> page = restaurantService.getActiveRestaurantsPage(after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyRestaurants(@RequestParam double lat,
+                                                  @RequestParam double lon,
+                                                  @RequestParam(defaultValue = "5") double radiusKm,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<NearbyRestaurant> restaurants = restaurantService.getNearbyRestaurants(lat, lon, radiusKm, limit);
+            return ResponseEntity.ok(restaurants);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> getRestaurantsByIds(@Valid @RequestBody BatchLookupRequest request) {
+        try {
+            List<RestaurantSummary> restaurants = restaurantService.getRestaurantsByIds(request.getIds());
+            return ResponseEntity.ok(restaurants);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -49,20 +94,28 @@ public class RestaurantController {
     }
 
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<List<Restaurant>> getRestaurantsByOwner(@PathVariable Long ownerId) {
-        List<Restaurant> restaurants = restaurantService.getRestaurantsByOwner(ownerId);
+    public ResponseEntity<List<RestaurantSummary>> getRestaurantsByOwner(@PathVariable Long ownerId) {
+        List<RestaurantSummary> restaurants = restaurantService.getRestaurantsByOwner(ownerId);
         return ResponseEntity.ok(restaurants);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Restaurant>> searchRestaurants(@RequestParam String keyword) {
-        List<Restaurant> restaurants = restaurantService.searchRestaurants(keyword);
+    public ResponseEntity<List<RestaurantSummary>> searchRestaurants(@RequestParam String keyword,
+                                                              @RequestParam(defaultValue = "50") int limit) {
+        List<RestaurantSummary> restaurants = restaurantService.searchRestaurants(keyword, limit);
         return ResponseEntity.ok(restaurants);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<Suggestions> suggest(@RequestParam String q,
+                                               @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(restaurantService.suggest(q, limit));
+    }
+
     @GetMapping("/rating")
-    public ResponseEntity<List<Restaurant>> getRestaurantsByRating(@RequestParam Double minRating) {
-        List<Restaurant> restaurants = restaurantService.getRestaurantsByRating(minRating);
+    public ResponseEntity<List<RestaurantSummary>> getRestaurantsByRating(@RequestParam Double minRating,
+                                                                          @RequestParam(defaultValue = "50") int limit) {
+        List<RestaurantSummary> restaurants = restaurantService.getRestaurantsByRating(minRating, limit);
         return ResponseEntity.ok(restaurants);
     }
 
@@ -71,28 +124,32 @@ public class RestaurantController {
         try {
             Restaurant updatedRestaurant = restaurantService.updateRestaurant(id, restaurantDto);
             return ResponseEntity.ok(updatedRestaurant);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
         }
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<?> updateRestaurantStatus(@PathVariable Long id, @RequestParam Restaurant.Status status) {
+    public ResponseEntity<?> updateRestaurantStatus(@PathVariable Long id, 
+                                                   @RequestParam Restaurant.Status status,
+                                                   @RequestParam(required = false) Long version) {
         try {
-            Restaurant updatedRestaurant = restaurantService.updateRestaurantStatus(id, status);
-            return ResponseEntity.ok(updatedRestaurant);
+            long newVersion = restaurantService.updateRestaurantStatus(id, status, version);
+            return ResponseEntity.ok(new StatusUpdate(id, status.name(), newVersion));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
         }
     }
 
-    @PatchMapping("/{id}/rating")
-    public ResponseEntity<?> updateRestaurantRating(@PathVariable Long id, 
-                                                   @RequestParam Double rating, 
-                                                   @RequestParam Integer reviewCount) {
+    @PostMapping("/{id}/reviews")
+    public ResponseEntity<?> submitReview(@PathVariable Long id, @Valid @RequestBody ReviewDto reviewDto) {
         try {
-            Restaurant updatedRestaurant = restaurantService.updateRating(id, rating, reviewCount);
-            return ResponseEntity.ok(updatedRestaurant);
+            reviewService.submitReview(id, reviewDto.getRating());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new MessageResponse("Review accepted"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
         }
@@ -0,0 +1,66 @@
+package com.fooddelivery.restaurant.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local stand-in for asynchronous replication between embedded H2 databases: periodically dumps
+ * the primary and replays the dump on every replica. Writes stay invisible on the replicas until
+ * the next run, which makes replica lag and read-your-writes stickiness observable locally. The
+ * replay drops the replica's tables first, so each replica is taken out of routing while it runs.
+ */
+public class H2ReplicaSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2ReplicaSync.class);
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public H2ReplicaSync(ReadWriteRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.local-sync-interval-ms:2000}")
+    public void sync() {
+        try {
+            List<String> script = dump(routingDataSource.getPrimary());
+            for (int i = 0; i < routingDataSource.getReplicas().size(); i++) {
+                routingDataSource.withReplicaOffline(i, replica -> replay(replica, script));
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to sync local H2 replicas", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<String> dump(DataSource primary) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT")) {
+            while (rs.next()) {
+                script.add(rs.getString(1));
+            }
+        }
+        return script;
+    }
+
+    private void replay(DataSource replica, List<String> script) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.fooddelivery.restaurant.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Sends eligible read-only transactions to the replicas, round robin, and everything else to the
+ * primary. Eligibility goes by transaction name, so the read-only transactions Spring Data opens
+ * for repository calls inside write paths stay on the primary. The read-only flag is only known
+ * once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. A replica that has
+ * been taken offline is skipped, and those reads go to the primary. {@code onReplicaRead} runs on
+ * the transaction's thread whenever a replica connection is handed out.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final List<ReplicaGate> gates = new ArrayList<>();
+    private final Predicate<String> replicaTransactions;
+    private final Runnable onReplicaRead;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Predicate<String> replicaTransactions,
+                                      Runnable onReplicaRead) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.replicaTransactions = replicaTransactions;
+        this.onReplicaRead = onReplicaRead;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            gates.add(new ReplicaGate());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Runs the work against a replica while no routed connection uses it: new reads go to the
+     * primary and the work starts once connections already handed out have been closed.
+     */
+    public void withReplicaOffline(int index, ReplicaWork work) throws SQLException, InterruptedException {
+        ReplicaGate gate = gates.get(index);
+        gate.takeOffline();
+        try {
+            work.run(replicas.get(index));
+        } finally {
+            gate.bringOnline();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (key instanceof Integer) {
+            ReplicaGate gate = gates.get((Integer) key);
+            if (gate.tryEnter()) {
+                try {
+                    Connection connection = gate.track(source.open(replicas.get((Integer) key)));
+                    onReplicaRead.run();
+                    return connection;
+                } catch (SQLException | RuntimeException e) {
+                    gate.exit();
+                    throw e;
+                }
+            }
+        }
+        return source.open(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaRoutingContext.recordWrite();
+            return PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (replicas.isEmpty() || transactionName == null || !replicaTransactions.test(transactionName)
+                || ReplicaRoutingContext.isStickToPrimary()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    @FunctionalInterface
+    public interface ReplicaWork {
+        void run(DataSource replica) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Closes the replica pools, which are created for this data source; the primary is a bean of
+     * its own and is closed by the container.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fooddelivery.restaurant.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the connections routed to one replica so the replica can be taken offline for
+ * maintenance. While it is offline no new connection is handed out, and going offline waits
+ * for the connections already handed out to be closed.
+ */
+final class ReplicaGate {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private volatile boolean offline;
+
+    /**
+     * Returns false while the replica is offline. The open count is raised before the flag is
+     * re-read, so either this call backs off or {@link #takeOffline()} waits for the connection.
+     */
+    boolean tryEnter() {
+        if (offline) {
+            return false;
+        }
+        open.incrementAndGet();
+        if (offline) {
+            exit();
+            return false;
+        }
+        return true;
+    }
+
+    void exit() {
+        if (open.decrementAndGet() == 0 && offline) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    synchronized void takeOffline() throws InterruptedException {
+        offline = true;
+        while (open.get() > 0) {
+            wait();
+        }
+    }
+
+    void bringOnline() {
+        offline = false;
+    }
+
+    /**
+     * Wraps a connection obtained after {@link #tryEnter()} so that closing it leaves the gate.
+     */
+    Connection track(Connection connection) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            exit();
+                        }
+                        return null;
+                    }
+                    if ("isClosed".equals(method.getName()) && closed.get()) {
+                        return true;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
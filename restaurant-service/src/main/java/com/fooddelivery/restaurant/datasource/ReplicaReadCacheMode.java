@@ -0,0 +1,36 @@
+package com.fooddelivery.restaurant.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Keeps a transaction that reads from a replica from putting what it loads into the second-level
+ * or query cache. A lagging replica can return rows older than the cached ones, and once cached
+ * they would be served to every reader until evicted. Cached entries are still read. The entity
+ * manager only lives as long as the transaction, so the mode does not leak into later work.
+ */
+public class ReplicaReadCacheMode implements Runnable {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public ReplicaReadCacheMode(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(factory);
+        if (entityManager != null) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+}
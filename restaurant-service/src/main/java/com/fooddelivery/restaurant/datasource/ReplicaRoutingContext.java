@@ -0,0 +1,46 @@
+package com.fooddelivery.restaurant.datasource;
+
+/**
+ * Per-request routing state. A request sticks to the primary once it has written, or when the
+ * caller wrote recently enough that the replicas may not have caught up yet.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {}
+
+    public static void begin(boolean stickToPrimary, Runnable onFirstWrite) {
+        CURRENT.set(new State(stickToPrimary, onFirstWrite));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isStickToPrimary() {
+        State state = CURRENT.get();
+        return state != null && state.stickToPrimary;
+    }
+
+    static void recordWrite() {
+        State state = CURRENT.get();
+        if (state == null || state.wrote) {
+            return;
+        }
+        state.wrote = true;
+        state.stickToPrimary = true;
+        state.onFirstWrite.run();
+    }
+
+    private static final class State {
+        private boolean stickToPrimary;
+        private boolean wrote;
+        private final Runnable onFirstWrite;
+
+        private State(boolean stickToPrimary, Runnable onFirstWrite) {
+            this.stickToPrimary = stickToPrimary;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
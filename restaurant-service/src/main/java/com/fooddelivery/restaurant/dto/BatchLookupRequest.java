@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.dto;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class BatchLookupRequest {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be looked up per request")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    // Constructors
+    public BatchLookupRequest() {}
+
+    public BatchLookupRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fooddelivery.restaurant.dto;
+
+import com.fooddelivery.restaurant.model.MenuItem;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetedMenuResult {
+
+    private final List<MenuItemSummary> items;
+    private final Map<MenuItem.Category, Integer> categories;
+    private final Map<MenuItem.Status, Integer> statuses;
+    private final int vegetarian;
+    private final int vegan;
+    private final int spicy;
+
+    public FacetedMenuResult(List<MenuItemSummary> items, Map<MenuItem.Category, Integer> categories,
+                             Map<MenuItem.Status, Integer> statuses, int vegetarian, int vegan, int spicy) {
+        this.items = items;
+        this.categories = categories;
+        this.statuses = statuses;
+        this.vegetarian = vegetarian;
+        this.vegan = vegan;
+        this.spicy = spicy;
+    }
+
+    // Getters
+    public List<MenuItemSummary> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return items.size();
+    }
+
+    public Map<MenuItem.Category, Integer> getCategories() {
+        return categories;
+    }
+
+    public Map<MenuItem.Status, Integer> getStatuses() {
+        return statuses;
+    }
+
+    public int getVegetarian() {
+        return vegetarian;
+    }
+
+    public int getVegan() {
+        return vegan;
+    }
+
+    public int getSpicy() {
+        return spicy;
+    }
+}
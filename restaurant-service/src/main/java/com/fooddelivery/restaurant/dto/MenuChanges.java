@@ -0,0 +1,48 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.util.List;
+
+public class MenuChanges {
+
+    private final Long restaurantId;
+    private final long since;
+    private final long version;
+    private final boolean resyncRequired;
+    private final List<MenuItemSummary> upserted;
+    private final List<Long> deleted;
+
+    public MenuChanges(Long restaurantId, long since, long version, boolean resyncRequired,
+                       List<MenuItemSummary> upserted, List<Long> deleted) {
+        this.restaurantId = restaurantId;
+        this.since = since;
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.upserted = upserted;
+        this.deleted = deleted;
+    }
+
+    // Getters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    public List<MenuItemSummary> getUpserted() {
+        return upserted;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,73 @@
+package com.fooddelivery.restaurant.dto;
+
+import com.fooddelivery.restaurant.model.MenuItem;
+
+import java.math.BigDecimal;
+
+public class MenuFacetQuery {
+
+    private MenuItem.Category category;
+    private MenuItem.Status status;
+    private Boolean vegetarian;
+    private Boolean vegan;
+    private Boolean spicy;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    // Getters and Setters
+    public MenuItem.Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(MenuItem.Category category) {
+        this.category = category;
+    }
+
+    public MenuItem.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(MenuItem.Status status) {
+        this.status = status;
+    }
+
+    public Boolean getVegetarian() {
+        return vegetarian;
+    }
+
+    public void setVegetarian(Boolean vegetarian) {
+        this.vegetarian = vegetarian;
+    }
+
+    public Boolean getVegan() {
+        return vegan;
+    }
+
+    public void setVegan(Boolean vegan) {
+        this.vegan = vegan;
+    }
+
+    public Boolean getSpicy() {
+        return spicy;
+    }
+
+    public void setSpicy(Boolean spicy) {
+        this.spicy = spicy;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
@@ -34,6 +34,8 @@ public class MenuItemDto {
     @NotNull(message = "Restaurant ID is required")
     private Long restaurantId;
 
+    private Long version;
+
     // Constructors
     public MenuItemDto() {}
 
@@ -117,4 +119,12 @@ public class MenuItemDto {
     public void setRestaurantId(Long restaurantId) {
         this.restaurantId = restaurantId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
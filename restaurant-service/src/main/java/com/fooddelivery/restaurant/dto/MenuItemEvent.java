@@ -0,0 +1,52 @@
+package com.fooddelivery.restaurant.dto;
+
+import com.fooddelivery.restaurant.model.MenuItem;
+
+import java.math.BigDecimal;
+
+public class MenuItemEvent {
+
+    private final Long restaurantId;
+    private final Long menuItemId;
+    private final long version;
+    private final MenuItem.Status status;
+    private final BigDecimal price;
+
+    public MenuItemEvent(Long restaurantId, Long menuItemId, long version, MenuItem.Status status, BigDecimal price) {
+        this.restaurantId = restaurantId;
+        this.menuItemId = menuItemId;
+        this.version = version;
+        this.status = status;
+        this.price = price;
+    }
+
+    public static MenuItemEvent statusChanged(Long restaurantId, Long menuItemId, long version, MenuItem.Status status) {
+        return new MenuItemEvent(restaurantId, menuItemId, version, status, null);
+    }
+
+    public static MenuItemEvent itemChanged(MenuItem menuItem, long version) {
+        return new MenuItemEvent(menuItem.getRestaurant().getId(), menuItem.getId(), version,
+                menuItem.getStatus(), menuItem.getPrice());
+    }
+
+    // Getters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public MenuItem.Status getStatus() {
+        return status;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+}
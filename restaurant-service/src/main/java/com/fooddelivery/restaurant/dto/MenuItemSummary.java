@@ -0,0 +1,98 @@
+package com.fooddelivery.restaurant.dto;
+
+import com.fooddelivery.restaurant.model.MenuItem;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-side view of a menu item, selected through a JPQL constructor expression. The restaurant
+ * is exposed as its foreign key only, so no join or proxy is involved.
+ */
+public class MenuItemSummary {
+
+    private final Long id;
+    private final Long restaurantId;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final MenuItem.Category category;
+    private final MenuItem.Status status;
+    private final String imageUrl;
+    private final boolean vegetarian;
+    private final boolean vegan;
+    private final boolean spicy;
+    private final Long version;
+
+    public MenuItemSummary(Long id, Long restaurantId, String name, String description, BigDecimal price,
+                           MenuItem.Category category, MenuItem.Status status, String imageUrl,
+                           boolean vegetarian, boolean vegan, boolean spicy, Long version) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.category = category;
+        this.status = status;
+        this.imageUrl = imageUrl;
+        this.vegetarian = vegetarian;
+        this.vegan = vegan;
+        this.spicy = spicy;
+        this.version = version;
+    }
+
+    public static MenuItemSummary from(MenuItem menuItem) {
+        return new MenuItemSummary(menuItem.getId(), menuItem.getRestaurant().getId(), menuItem.getName(),
+                menuItem.getDescription(), menuItem.getPrice(), menuItem.getCategory(), menuItem.getStatus(),
+                menuItem.getImageUrl(), menuItem.isVegetarian(), menuItem.isVegan(), menuItem.isSpicy(),
+                menuItem.getVersion());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public MenuItem.Category getCategory() {
+        return category;
+    }
+
+    public MenuItem.Status getStatus() {
+        return status;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public boolean isVegetarian() {
+        return vegetarian;
+    }
+
+    public boolean isVegan() {
+        return vegan;
+    }
+
+    public boolean isSpicy() {
+        return spicy;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fooddelivery.restaurant.dto;
+
+public class NearbyRestaurant {
+
+    private final RestaurantSummary restaurant;
+    private final double distanceKm;
+
+    public NearbyRestaurant(RestaurantSummary restaurant, double distanceKm) {
+        this.restaurant = restaurant;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters
+    public RestaurantSummary getRestaurant() {
+        return restaurant;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
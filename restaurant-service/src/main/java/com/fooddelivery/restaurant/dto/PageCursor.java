@@ -0,0 +1,57 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed to clients as the {@code after} token. It carries the sort key
+ * of the last row on a page (the id, optionally preceded by the rating) so the next page can
+ * resume with a {@code WHERE key > :last} seek instead of an OFFSET scan.
+ */
+public final class PageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Double rating;
+    private final long id;
+
+    private PageCursor(Double rating, long id) {
+        this.rating = rating;
+        this.id = id;
+    }
+
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor ofRating(double rating, long id) {
+        return new PageCursor(rating, id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                return ofId(Long.parseLong(raw));
+            }
+            return ofRating(Double.parseDouble(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = rating == null ? Long.toString(id) : rating + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
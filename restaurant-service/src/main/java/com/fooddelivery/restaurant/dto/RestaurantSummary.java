@@ -0,0 +1,102 @@
+package com.fooddelivery.restaurant.dto;
+
+import com.fooddelivery.restaurant.model.Restaurant;
+
+/**
+ * Read-side view of a restaurant, selected column by column through a JPQL constructor
+ * expression so list endpoints never hydrate managed entities or their lazy menu collection.
+ */
+public class RestaurantSummary {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String phoneNumber;
+    private final String email;
+    private final Long ownerId;
+    private final Restaurant.Status status;
+    private final String imageUrl;
+    private final Double latitude;
+    private final Double longitude;
+    private final Double rating;
+    private final Integer totalReviews;
+
+    public RestaurantSummary(Long id, String name, String description, String address, String phoneNumber,
+                             String email, Long ownerId, Restaurant.Status status, String imageUrl,
+                             Double latitude, Double longitude, Double rating, Integer totalReviews) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.address = address;
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+        this.ownerId = ownerId;
+        this.status = status;
+        this.imageUrl = imageUrl;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.rating = rating;
+        this.totalReviews = totalReviews;
+    }
+
+    public static RestaurantSummary from(Restaurant restaurant) {
+        return new RestaurantSummary(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                restaurant.getAddress(), restaurant.getPhoneNumber(), restaurant.getEmail(), restaurant.getOwnerId(),
+                restaurant.getStatus(), restaurant.getImageUrl(), restaurant.getLatitude(), restaurant.getLongitude(),
+                restaurant.getRating(), restaurant.getTotalReviews());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Restaurant.Status getStatus() {
+        return status;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public Integer getTotalReviews() {
+        return totalReviews;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.restaurant.dto;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class ReviewDto {
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private Integer rating;
+
+    // Constructors
+    public ReviewDto() {}
+
+    public ReviewDto(Integer rating) {
+        this.rating = rating;
+    }
+
+    // Getters and Setters
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+}
@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.dto;
+
+/**
+ * Response to a status flip. The new version is what a client passes as {@code version} on its
+ * next conditional update.
+ */
+public class StatusUpdate {
+
+    private final Long id;
+    private final String status;
+    private final long version;
+
+    public StatusUpdate(Long id, String status, long version) {
+        this.id = id;
+        this.status = status;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,59 @@
+package com.fooddelivery.restaurant.dto;
+
+import java.util.List;
+
+public class Suggestions {
+
+    private final List<RestaurantSuggestion> restaurants;
+    private final List<DishSuggestion> dishes;
+
+    public Suggestions(List<RestaurantSuggestion> restaurants, List<DishSuggestion> dishes) {
+        this.restaurants = restaurants;
+        this.dishes = dishes;
+    }
+
+    // Getters
+    public List<RestaurantSuggestion> getRestaurants() {
+        return restaurants;
+    }
+
+    public List<DishSuggestion> getDishes() {
+        return dishes;
+    }
+
+    public static class RestaurantSuggestion {
+        private final Long id;
+        private final String name;
+
+        public RestaurantSuggestion(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class DishSuggestion {
+        private final String name;
+        private final int restaurantCount;
+
+        public DishSuggestion(String name, int restaurantCount) {
+            this.name = name;
+            this.restaurantCount = restaurantCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRestaurantCount() {
+            return restaurantCount;
+        }
+    }
+}
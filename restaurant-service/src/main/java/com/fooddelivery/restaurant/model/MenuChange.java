@@ -0,0 +1,95 @@
+package com.fooddelivery.restaurant.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Latest change to a menu item, stamped with its restaurant's menu version. The log is compacted:
+ * each item keeps a single row that moves forward on every change, and a deleted item keeps its
+ * row as a tombstone.
+ */
+@Entity
+@Table(name = "menu_changes", indexes = {
+        @Index(name = "idx_menu_changes_restaurant_version", columnList = "restaurant_id, version")
+})
+public class MenuChange {
+
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public MenuChange() {}
+
+    public MenuChange(Long menuItemId, Long restaurantId) {
+        this.menuItemId = menuItemId;
+        this.restaurantId = restaurantId;
+    }
+
+    // Getters and Setters
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MenuChange that = (MenuChange) o;
+        return Objects.equals(menuItemId, that.menuItemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(menuItemId);
+    }
+}
@@ -1,6 +1,9 @@
 package com.fooddelivery.restaurant.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.DecimalMin;
@@ -12,11 +15,17 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Table(name = "menu_items")
 public class MenuItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Existing databases need menu_item_seq created with INCREMENT BY 50 and started above
+    // MAX(menu_items.id); on MySQL, Hibernate emulates it with a one-row menu_item_seq table
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_seq")
+    @SequenceGenerator(name = "menu_item_seq", sequenceName = "menu_item_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Item name is required")
@@ -58,6 +67,9 @@ public class MenuItem {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     public enum Category {
         APPETIZER, MAIN_COURSE, DESSERT, BEVERAGE, SALAD, SOUP
     }
@@ -193,6 +205,14 @@ public class MenuItem {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
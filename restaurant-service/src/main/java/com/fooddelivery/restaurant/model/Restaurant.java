@@ -1,5 +1,10 @@
 package com.fooddelivery.restaurant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -10,7 +15,12 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "restaurants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(name = "restaurants", indexes = {
+        @Index(name = "idx_restaurants_status_rating", columnList = "status, rating, id")
+})
 public class Restaurant {
 
     @Id
@@ -43,6 +53,12 @@ public class Restaurant {
 
     private String imageUrl;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "rating")
     private Double rating = 0.0;
 
@@ -50,6 +66,8 @@ public class Restaurant {
     private Integer totalReviews = 0;
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @JsonIgnore
     private List<MenuItem> menuItems = new ArrayList<>();
 
     @Column(name = "created_at")
@@ -58,6 +76,9 @@ public class Restaurant {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     public enum Status {
         ACTIVE, INACTIVE, SUSPENDED
     }
@@ -157,6 +178,22 @@ public class Restaurant {
         this.imageUrl = imageUrl;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public Double getRating() {
         return rating;
     }
@@ -197,6 +234,14 @@ public class Restaurant {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
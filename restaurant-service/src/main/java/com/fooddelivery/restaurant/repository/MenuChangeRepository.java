@@ -0,0 +1,25 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.model.MenuChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface MenuChangeRepository extends JpaRepository<MenuChange, Long> {
+
+    @Query("SELECT MAX(c.version) FROM MenuChange c WHERE c.restaurantId = :restaurantId")
+    Long findMaxVersion(@Param("restaurantId") Long restaurantId);
+
+    List<MenuChange> findByRestaurantIdAndVersionGreaterThanOrderByVersion(Long restaurantId, long version);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MenuChange c WHERE c.restaurantId = :restaurantId")
+    int deleteByRestaurantId(@Param("restaurantId") Long restaurantId);
+}
@@ -1,36 +1,69 @@
 package com.fooddelivery.restaurant.repository;
 
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
 import com.fooddelivery.restaurant.model.MenuItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
-    List<MenuItem> findByRestaurantId(Long restaurantId);
+    String SUMMARY_SELECT = "SELECT new com.fooddelivery.restaurant.dto.MenuItemSummary("
+            + "m.id, m.restaurant.id, m.name, m.description, m.price, m.category, m.status, m.imageUrl, "
+            + "m.isVegetarian, m.isVegan, m.isSpicy, m.version) FROM MenuItem m";
+
+    @Query(SUMMARY_SELECT + " WHERE m.restaurant.id = :restaurantId ORDER BY m.id")
+    List<MenuItemSummary> findSummariesByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    @Query(SUMMARY_SELECT + " WHERE m.restaurant.id = :restaurantId AND m.status = :status ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findSummariesByRestaurantIdAndStatus(@Param("restaurantId") Long restaurantId,
+                                                               @Param("status") MenuItem.Status status);
+    
+    @Query(SUMMARY_SELECT + " WHERE m.id > :id ORDER BY m.id")
+    List<MenuItemSummary> findSummariesAfterId(@Param("id") Long id, Pageable pageable);
     
-    List<MenuItem> findByRestaurantIdAndStatus(Long restaurantId, MenuItem.Status status);
+    // Forward-only cursor for exports; must be consumed inside the caller's transaction
+    @Query(SUMMARY_SELECT + " WHERE m.id > :id ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<MenuItemSummary> streamSummariesAfterId(@Param("id") Long id);
     
-    List<MenuItem> findByCategory(MenuItem.Category category);
+    @Query(SUMMARY_SELECT + " WHERE m.id IN :ids")
+    List<MenuItemSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
-    List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, MenuItem.Category category);
+    @Query(SUMMARY_SELECT + " WHERE m.category = :category ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findSummariesByCategory(@Param("category") MenuItem.Category category);
     
-    List<MenuItem> findByIsVegetarianTrue();
+    @Query(SUMMARY_SELECT + " WHERE m.restaurant.id = :restaurantId AND m.category = :category ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findSummariesByRestaurantIdAndCategory(@Param("restaurantId") Long restaurantId,
+                                                                 @Param("category") MenuItem.Category category);
     
-    List<MenuItem> findByIsVeganTrue();
+    @Query(SUMMARY_SELECT + " WHERE m.isVegetarian = true ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findVegetarianSummaries();
     
-    List<MenuItem> findByRestaurantIdAndIsVegetarianTrue(Long restaurantId);
+    @Query(SUMMARY_SELECT + " WHERE m.isVegan = true ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findVeganSummaries();
     
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.price BETWEEN :minPrice AND :maxPrice")
-    List<MenuItem> findByRestaurantIdAndPriceBetween(@Param("restaurantId") Long restaurantId, 
-                                                     @Param("minPrice") BigDecimal minPrice, 
-                                                     @Param("maxPrice") BigDecimal maxPrice);
+    @Query(SUMMARY_SELECT + " WHERE m.restaurant.id = :restaurantId AND m.isVegetarian = true ORDER BY m.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MenuItemSummary> findVegetarianSummariesByRestaurantId(@Param("restaurantId") Long restaurantId);
     
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND (m.name LIKE %:keyword% OR m.description LIKE %:keyword%)")
-    List<MenuItem> searchMenuItems(@Param("restaurantId") Long restaurantId, @Param("keyword") String keyword);
+    @Query(SUMMARY_SELECT + " WHERE m.restaurant.id = :restaurantId AND m.price BETWEEN :minPrice AND :maxPrice ORDER BY m.id")
+    List<MenuItemSummary> findSummariesByRestaurantIdAndPriceBetween(@Param("restaurantId") Long restaurantId, 
+                                                                     @Param("minPrice") BigDecimal minPrice, 
+                                                                     @Param("maxPrice") BigDecimal maxPrice);
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.model.MenuItem;
+import com.fooddelivery.restaurant.model.Restaurant;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * R2DBC counterparts of the summary queries in {@link RestaurantRepository} and
+ * {@link MenuItemRepository}, for the non-blocking read path. Rows are mapped by hand, so the
+ * SQL here has to follow the physical column names of the JPA entities.
+ */
+@Repository
+public class ReactiveCatalogRepository {
+
+    private static final String RESTAURANT_SELECT = "SELECT r.id, r.name, r.description, r.address, r.phone_number, "
+            + "r.email, r.owner_id, r.status, r.image_url, r.latitude, r.longitude, r.rating, r.total_reviews "
+            + "FROM restaurants r";
+
+    private static final String MENU_ITEM_SELECT = "SELECT m.id, m.restaurant_id, m.name, m.description, m.price, "
+            + "m.category, m.status, m.image_url, m.is_vegetarian, m.is_vegan, m.is_spicy, m.version "
+            + "FROM menu_items m";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<RestaurantSummary> findSummariesAfterId(long id, int limit) {
+        return databaseClient.sql(RESTAURANT_SELECT + " WHERE r.id > :id ORDER BY r.id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toRestaurantSummary(row))
+                .all();
+    }
+
+    public Flux<RestaurantSummary> findSummariesByStatusOrderByRating(Restaurant.Status status, int limit) {
+        return databaseClient.sql(RESTAURANT_SELECT + " WHERE r.status = :status ORDER BY r.rating DESC, r.id ASC LIMIT :limit")
+                .bind("status", status.name())
+                .bind("limit", limit)
+                .map((row, metadata) -> toRestaurantSummary(row))
+                .all();
+    }
+
+    public Flux<RestaurantSummary> findSummariesByStatusAfterRating(Restaurant.Status status, double rating, long id, int limit) {
+        return databaseClient.sql(RESTAURANT_SELECT + " WHERE r.status = :status AND (r.rating < :rating OR (r.rating = :rating AND r.id > :id)) "
+                        + "ORDER BY r.rating DESC, r.id ASC LIMIT :limit")
+                .bind("status", status.name())
+                .bind("rating", rating)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toRestaurantSummary(row))
+                .all();
+    }
+
+    public Flux<RestaurantSummary> findSummariesByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(RESTAURANT_SELECT + " WHERE r.id IN (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> toRestaurantSummary(row))
+                .all();
+    }
+
+    public Flux<MenuItemSummary> findMenuItemSummariesByRestaurantId(long restaurantId) {
+        return databaseClient.sql(MENU_ITEM_SELECT + " WHERE m.restaurant_id = :restaurantId ORDER BY m.id")
+                .bind("restaurantId", restaurantId)
+                .map((row, metadata) -> toMenuItemSummary(row))
+                .all();
+    }
+
+    public Flux<MenuItemSummary> findMenuItemSummariesByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(MENU_ITEM_SELECT + " WHERE m.id IN (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> toMenuItemSummary(row))
+                .all();
+    }
+
+    private static RestaurantSummary toRestaurantSummary(Row row) {
+        String status = row.get("status", String.class);
+        return new RestaurantSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("address", String.class),
+                row.get("phone_number", String.class),
+                row.get("email", String.class),
+                row.get("owner_id", Long.class),
+                status == null ? null : Restaurant.Status.valueOf(status),
+                row.get("image_url", String.class),
+                row.get("latitude", Double.class),
+                row.get("longitude", Double.class),
+                row.get("rating", Double.class),
+                row.get("total_reviews", Integer.class));
+    }
+
+    private static MenuItemSummary toMenuItemSummary(Row row) {
+        String category = row.get("category", String.class);
+        String status = row.get("status", String.class);
+        return new MenuItemSummary(
+                row.get("id", Long.class),
+                row.get("restaurant_id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                category == null ? null : MenuItem.Category.valueOf(category),
+                status == null ? null : MenuItem.Status.valueOf(status),
+                row.get("image_url", String.class),
+                Boolean.TRUE.equals(row.get("is_vegetarian", Boolean.class)),
+                Boolean.TRUE.equals(row.get("is_vegan", Boolean.class)),
+                Boolean.TRUE.equals(row.get("is_spicy", Boolean.class)),
+                row.get("version", Long.class));
+    }
+}
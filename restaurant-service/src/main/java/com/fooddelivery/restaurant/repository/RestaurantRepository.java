@@ -1,18 +1,29 @@
 package com.fooddelivery.restaurant.repository;
 
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
 import com.fooddelivery.restaurant.model.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
-    List<Restaurant> findByOwnerId(Long ownerId);
+    String SUMMARY_SELECT = "SELECT new com.fooddelivery.restaurant.dto.RestaurantSummary("
+            + "r.id, r.name, r.description, r.address, r.phoneNumber, r.email, r.ownerId, r.status, r.imageUrl, "
+            + "r.latitude, r.longitude, r.rating, r.totalReviews) FROM Restaurant r";
+
+    @Query(SUMMARY_SELECT + " WHERE r.ownerId = :ownerId ORDER BY r.id")
+    List<RestaurantSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
     
     List<Restaurant> findByStatus(Restaurant.Status status);
     
@@ -20,13 +31,27 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     
     List<Restaurant> findByAddressContainingIgnoreCase(String address);
     
-    @Query("SELECT r FROM Restaurant r WHERE r.rating >= :minRating ORDER BY r.rating DESC")
-    List<Restaurant> findByRatingGreaterThanEqual(@Param("minRating") Double minRating);
+    @Query(SUMMARY_SELECT + " WHERE r.id > :id ORDER BY r.id")
+    List<RestaurantSummary> findSummariesAfterId(@Param("id") Long id, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside the caller's transaction
+    @Query(SUMMARY_SELECT + " WHERE r.id > :id ORDER BY r.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<RestaurantSummary> streamSummariesAfterId(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + " WHERE r.id IN :ids")
+    List<RestaurantSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + " WHERE r.status = :status ORDER BY r.rating DESC, r.id ASC")
+    List<RestaurantSummary> findSummariesByStatusOrderByRating(@Param("status") Restaurant.Status status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE r.status = :status AND (r.rating < :rating OR (r.rating = :rating AND r.id > :id)) ORDER BY r.rating DESC, r.id ASC")
+    List<RestaurantSummary> findSummariesByStatusAfterRating(@Param("status") Restaurant.Status status,
+                                                             @Param("rating") Double rating,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
     
     Optional<Restaurant> findByEmail(String email);
     
     boolean existsByEmail(String email);
-    
-    @Query("SELECT r FROM Restaurant r WHERE r.name LIKE %:keyword% OR r.description LIKE %:keyword% OR r.address LIKE %:keyword%")
-    List<Restaurant> searchRestaurants(@Param("keyword") String keyword);
 }
\ No newline at end of file
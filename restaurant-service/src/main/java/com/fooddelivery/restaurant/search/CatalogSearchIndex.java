@@ -0,0 +1,280 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.dto.Suggestions;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyword search and name autocompletion over restaurants and menu items. Built from the database
+ * at startup and kept current by the service write paths, so search requests never scan the
+ * tables. Menu items get one index per restaurant, so a menu search only walks the terms of that
+ * restaurant's menu, however short the prefix. Restaurant suggestions are weighted by rating and
+ * review volume, dish suggestions by how many distinct restaurants serve the dish.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    public static final int DEFAULT_RESULT_LIMIT = 50;
+    public static final int MAX_RESULT_LIMIT = 200;
+
+    public static final int DEFAULT_SUGGESTION_LIMIT = 8;
+    public static final int MAX_SUGGESTION_LIMIT = 20;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private final InvertedIndex restaurantIndex = new InvertedIndex();
+    private final Map<Long, InvertedIndex> menuItemIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> menuItemRestaurants = new ConcurrentHashMap<>();
+
+    private final SuggestionTrie<Long> restaurantSuggestions = new SuggestionTrie<>();
+    private final SuggestionTrie<String> dishSuggestions = new SuggestionTrie<>();
+    private final Map<Long, String> restaurantNames = new ConcurrentHashMap<>();
+    private final Map<String, Dish> dishes = new ConcurrentHashMap<>();
+    // Guards dish counting; also maps each menu item to the dish and restaurant it counts towards
+    private final Map<Long, DishServing> menuItemDishes = new HashMap<>();
+    // Per dish, the number of menu items carrying it in each restaurant; guarded by menuItemDishes
+    private final Map<String, Map<Long, Integer>> dishRestaurants = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        restaurantIndex.clear();
+        menuItemIndexes.clear();
+        menuItemRestaurants.clear();
+        restaurantSuggestions.clear();
+        dishSuggestions.clear();
+        restaurantNames.clear();
+        synchronized (menuItemDishes) {
+            dishes.clear();
+            menuItemDishes.clear();
+            dishRestaurants.clear();
+        }
+
+        long lastId = 0L;
+        List<RestaurantSummary> restaurants;
+        do {
+            restaurants = restaurantRepository.findSummariesAfterId(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (RestaurantSummary restaurant : restaurants) {
+                indexRestaurant(restaurant);
+                lastId = restaurant.getId();
+            }
+        } while (restaurants.size() == REBUILD_BATCH_SIZE);
+
+        lastId = 0L;
+        List<MenuItemSummary> menuItems;
+        do {
+            menuItems = menuItemRepository.findSummariesAfterId(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (MenuItemSummary menuItem : menuItems) {
+                indexMenuItem(menuItem);
+                lastId = menuItem.getId();
+            }
+        } while (menuItems.size() == REBUILD_BATCH_SIZE);
+
+        logger.info("Search index built with {} restaurants and {} menu items", restaurantIndex.size(), menuItemRestaurants.size());
+    }
+
+    public void indexRestaurant(RestaurantSummary restaurant) {
+        Map<String, Float> fields = new LinkedHashMap<>();
+        putField(fields, restaurant.getName(), NAME_WEIGHT);
+        putField(fields, restaurant.getAddress(), ADDRESS_WEIGHT);
+        putField(fields, restaurant.getDescription(), DESCRIPTION_WEIGHT);
+        restaurantIndex.index(restaurant.getId(), fields);
+        updatePopularity(restaurant);
+    }
+
+    public void updatePopularity(RestaurantSummary restaurant) {
+        if (restaurant.getName() == null) {
+            return;
+        }
+        double rating = restaurant.getRating() == null ? 0.0 : restaurant.getRating();
+        int reviews = restaurant.getTotalReviews() == null ? 0 : restaurant.getTotalReviews();
+        restaurantNames.put(restaurant.getId(), restaurant.getName());
+        restaurantSuggestions.put(restaurant.getId(), SuggestionTrie.keysFor(restaurant.getName()),
+                1.0 + Math.log1p(reviews) * rating);
+    }
+
+    public void removeRestaurant(Long restaurantId) {
+        restaurantIndex.remove(restaurantId);
+        restaurantSuggestions.remove(restaurantId);
+        restaurantNames.remove(restaurantId);
+        menuItemRestaurants.forEach((menuItemId, ownerId) -> {
+            if (ownerId.equals(restaurantId)) {
+                removeMenuItem(menuItemId);
+            }
+        });
+    }
+
+    public void indexMenuItem(MenuItemSummary menuItem) {
+        Map<String, Float> fields = new LinkedHashMap<>();
+        putField(fields, menuItem.getName(), NAME_WEIGHT);
+        putField(fields, menuItem.getDescription(), DESCRIPTION_WEIGHT);
+        Long previousRestaurantId = menuItemRestaurants.put(menuItem.getId(), menuItem.getRestaurantId());
+        if (previousRestaurantId != null && !previousRestaurantId.equals(menuItem.getRestaurantId())) {
+            removeFromMenuIndex(previousRestaurantId, menuItem.getId());
+        }
+        menuItemIndexes.compute(menuItem.getRestaurantId(), (restaurantId, index) -> {
+            InvertedIndex menuIndex = index == null ? new InvertedIndex() : index;
+            menuIndex.index(menuItem.getId(), fields);
+            return menuIndex;
+        });
+        updateDish(menuItem.getId(), menuItem.getRestaurantId(), menuItem.getName());
+    }
+
+    public void removeMenuItem(Long menuItemId) {
+        Long restaurantId = menuItemRestaurants.remove(menuItemId);
+        if (restaurantId != null) {
+            removeFromMenuIndex(restaurantId, menuItemId);
+        }
+        updateDish(menuItemId, null, null);
+    }
+
+    public List<Long> searchRestaurantIds(String keyword, int limit) {
+        return restaurantIndex.search(keyword, normalizeLimit(limit), restaurantId -> true);
+    }
+
+    public List<Long> searchMenuItemIds(Long restaurantId, String keyword, int limit) {
+        InvertedIndex menuIndex = menuItemIndexes.get(restaurantId);
+        if (menuIndex == null) {
+            return Collections.emptyList();
+        }
+        return menuIndex.search(keyword, normalizeLimit(limit), menuItemId -> true);
+    }
+
+    public Suggestions suggest(String query, int limit) {
+        int suggestionLimit = limit < 1 ? DEFAULT_SUGGESTION_LIMIT : Math.min(limit, MAX_SUGGESTION_LIMIT);
+
+        List<Suggestions.RestaurantSuggestion> restaurants = new ArrayList<>();
+        for (Long restaurantId : restaurantSuggestions.complete(query, suggestionLimit)) {
+            String name = restaurantNames.get(restaurantId);
+            if (name != null) {
+                restaurants.add(new Suggestions.RestaurantSuggestion(restaurantId, name));
+            }
+        }
+        List<Suggestions.DishSuggestion> dishMatches = new ArrayList<>();
+        for (String key : dishSuggestions.complete(query, suggestionLimit)) {
+            Dish dish = dishes.get(key);
+            if (dish != null) {
+                dishMatches.add(new Suggestions.DishSuggestion(dish.name, dish.restaurantCount));
+            }
+        }
+        return new Suggestions(restaurants, dishMatches);
+    }
+
+    // Drops the restaurant's index together with its last item, atomically with concurrent indexing
+    private void removeFromMenuIndex(Long restaurantId, Long menuItemId) {
+        menuItemIndexes.computeIfPresent(restaurantId, (id, menuIndex) -> {
+            menuIndex.remove(menuItemId);
+            return menuIndex.size() == 0 ? null : menuIndex;
+        });
+    }
+
+    private void updateDish(Long menuItemId, Long restaurantId, String name) {
+        String key = SuggestionTrie.normalize(name);
+        DishServing serving = key.isEmpty() ? null : new DishServing(key, restaurantId);
+        synchronized (menuItemDishes) {
+            DishServing previous = serving == null ? menuItemDishes.remove(menuItemId) : menuItemDishes.put(menuItemId, serving);
+            if (Objects.equals(previous, serving)) {
+                return;
+            }
+            if (previous != null) {
+                adjustDish(previous, null, -1);
+            }
+            if (serving != null) {
+                adjustDish(serving, name, 1);
+            }
+        }
+    }
+
+    private void adjustDish(DishServing serving, String name, int delta) {
+        Map<Long, Integer> itemsByRestaurant = dishRestaurants.computeIfAbsent(serving.key, key -> new HashMap<>());
+        itemsByRestaurant.merge(serving.restaurantId, delta, (items, change) -> items + change <= 0 ? null : items + change);
+        if (itemsByRestaurant.isEmpty()) {
+            dishRestaurants.remove(serving.key);
+            dishes.remove(serving.key);
+            dishSuggestions.remove(serving.key);
+            return;
+        }
+        Dish current = dishes.get(serving.key);
+        int restaurantCount = itemsByRestaurant.size();
+        if (current != null && current.restaurantCount == restaurantCount) {
+            return;
+        }
+        // Keep the first spelling seen as the display name
+        dishes.put(serving.key, new Dish(current == null ? name : current.name, restaurantCount));
+        dishSuggestions.put(serving.key, SuggestionTrie.keysFor(serving.key), restaurantCount);
+    }
+
+    private static int normalizeLimit(int limit) {
+        if (limit < 1) {
+            return DEFAULT_RESULT_LIMIT;
+        }
+        return Math.min(limit, MAX_RESULT_LIMIT);
+    }
+
+    private static void putField(Map<String, Float> fields, String text, float weight) {
+        if (text != null) {
+            fields.merge(text, weight, Math::max);
+        }
+    }
+
+    private static final class Dish {
+        private final String name;
+        private final int restaurantCount;
+
+        private Dish(String name, int restaurantCount) {
+            this.name = name;
+            this.restaurantCount = restaurantCount;
+        }
+    }
+
+    private static final class DishServing {
+        private final String key;
+        private final Long restaurantId;
+
+        private DishServing(String key, Long restaurantId) {
+            this.key = key;
+            this.restaurantId = restaurantId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DishServing other = (DishServing) o;
+            return key.equals(other.key) && Objects.equals(restaurantId, other.restaurantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, restaurantId);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-grid spatial index over ACTIVE restaurants with coordinates. Each restaurant lives in
+ * one cell of {@value #CELL_DEGREES} degrees; a radius query visits only the cells overlapping
+ * the radius' bounding box and checks the exact great-circle distance of their members.
+ * Queries crossing the antimeridian are not wrapped.
+ */
+@Component
+public class GeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndex.class);
+
+    public static final double MAX_RADIUS_KM = 50.0;
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, double[]> locations = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        cells.clear();
+        locations.clear();
+
+        long lastId = 0L;
+        List<RestaurantSummary> restaurants;
+        do {
+            restaurants = restaurantRepository.findSummariesAfterId(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (RestaurantSummary restaurant : restaurants) {
+                update(restaurant);
+                lastId = restaurant.getId();
+            }
+        } while (restaurants.size() == REBUILD_BATCH_SIZE);
+
+        logger.info("Geo index built with {} located restaurants", locations.size());
+    }
+
+    /**
+     * Places the restaurant at its current coordinates, or drops it from the index when it is
+     * not ACTIVE or has no usable coordinates.
+     */
+    public synchronized void update(RestaurantSummary restaurant) {
+        remove(restaurant.getId());
+        if (restaurant.getStatus() != Restaurant.Status.ACTIVE
+                || restaurant.getLatitude() == null || restaurant.getLongitude() == null
+                || !Double.isFinite(restaurant.getLatitude()) || !Double.isFinite(restaurant.getLongitude())) {
+            return;
+        }
+        double[] location = {restaurant.getLatitude(), restaurant.getLongitude()};
+        locations.put(restaurant.getId(), location);
+        cells.computeIfAbsent(cellKey(location[0], location[1]), key -> ConcurrentHashMap.newKeySet()).add(restaurant.getId());
+    }
+
+    public synchronized void remove(Long restaurantId) {
+        double[] location = locations.remove(restaurantId);
+        if (location == null) {
+            return;
+        }
+        cells.computeIfPresent(cellKey(location[0], location[1]), (key, members) -> {
+            members.remove(restaurantId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} restaurants within {@code radiusKm}, nearest first.
+     */
+    public List<Hit> nearby(double latitude, double longitude, double radiusKm, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        // A circle reaching over a pole spans every longitude; otherwise this is its exact
+        // longitude half-width, which the linear estimate understates at high latitudes
+        double lonDelta = latitude + latDelta >= 90.0 || latitude - latDelta <= -90.0
+                ? 180.0
+                : Math.toDegrees(Math.asin(Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude))));
+
+        long minLatCell = cell(Math.max(latitude - latDelta, -90.0));
+        long maxLatCell = cell(Math.min(latitude + latDelta, 90.0));
+        long minLonCell = cell(Math.max(longitude - lonDelta, -180.0));
+        long maxLonCell = cell(Math.min(longitude + lonDelta, 180.0));
+
+        List<Hit> hits = new ArrayList<>();
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                Set<Long> members = cells.get(pack(latCell, lonCell));
+                if (members == null) {
+                    continue;
+                }
+                for (Long restaurantId : members) {
+                    double[] location = locations.get(restaurantId);
+                    if (location == null) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, location[0], location[1]);
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit(restaurantId, distance));
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparing(Hit::getRestaurantId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return pack(cell(latitude), cell(longitude));
+    }
+
+    private static long pack(long latCell, long lonCell) {
+        return (latCell << 32) ^ (lonCell & 0xffffffffL);
+    }
+
+    public static final class Hit {
+        private final Long restaurantId;
+        private final double distanceKm;
+
+        Hit(Long restaurantId, double distanceKm) {
+            this.restaurantId = restaurantId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getRestaurantId() {
+            return restaurantId;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fooddelivery.restaurant.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Token -> posting list index with prefix lookups. Terms are kept in a sorted map so a prefix
+ * query is a range scan over the matching terms only; every query term must match (AND), and
+ * documents are ranked by the summed field weights of their matching terms, with exact term
+ * hits scoring higher than prefix hits.
+ */
+public class InvertedIndex {
+
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Map<String, Float>> documents = new ConcurrentHashMap<>();
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Replaces whatever was indexed for {@code docId} with the given fields, each field text
+     * paired with its ranking weight.
+     */
+    public synchronized void index(long docId, Map<String, Float> weightedFields) {
+        Map<String, Float> terms = new HashMap<>();
+        weightedFields.forEach((text, weight) -> {
+            for (String token : tokenize(text)) {
+                terms.merge(token, weight, Math::max);
+            }
+        });
+        remove(docId);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(docId, weight));
+        documents.put(docId, terms);
+    }
+
+    public synchronized void remove(long docId) {
+        Map<String, Float> terms = documents.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            postings.computeIfPresent(term, (t, docs) -> {
+                docs.remove(docId);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public List<Long> search(String query, int limit, LongPredicate filter) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Float> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Float> termScores = scoreTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((docId, score) -> score + termScores.get(docId));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>();
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                ranked.add(entry);
+            }
+        }
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> docIds = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            docIds.add(ranked.get(i).getKey());
+        }
+        return docIds;
+    }
+
+    private Map<Long, Float> scoreTerm(String queryTerm) {
+        Map<Long, Float> termScores = new HashMap<>();
+        ConcurrentNavigableMap<String, Map<Long, Float>> matches =
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true);
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            float boost = match.getKey().length() == queryTerm.length() ? 1.0f : PREFIX_BOOST;
+            for (Map.Entry<Long, Float> posting : match.getValue().entrySet()) {
+                termScores.merge(posting.getKey(), posting.getValue() * boost, Math::max);
+            }
+        }
+        return termScores;
+    }
+}
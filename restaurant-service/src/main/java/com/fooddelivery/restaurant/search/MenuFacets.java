@@ -0,0 +1,162 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.FacetedMenuResult;
+import com.fooddelivery.restaurant.dto.MenuFacetQuery;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.model.MenuItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap index over one restaurant's menu. Bit {@code i} of every set refers to the {@code i}-th
+ * item, so a filter is a handful of word-wise ANDs. Category, status and dietary counts are each
+ * computed with every other filter applied but their own left out, which is what a facet sidebar
+ * shows.
+ */
+public final class MenuFacets {
+
+    private final MenuItemSummary[] items;
+    private final Map<MenuItem.Category, BitSet> byCategory = new EnumMap<>(MenuItem.Category.class);
+    private final Map<MenuItem.Status, BitSet> byStatus = new EnumMap<>(MenuItem.Status.class);
+    private final BitSet vegetarian = new BitSet();
+    private final BitSet vegan = new BitSet();
+    private final BitSet spicy = new BitSet();
+    private final Integer[] byPrice;
+
+    public MenuFacets(List<MenuItemSummary> menuItems) {
+        this.items = menuItems.toArray(new MenuItemSummary[0]);
+        for (MenuItem.Category category : MenuItem.Category.values()) {
+            byCategory.put(category, new BitSet(items.length));
+        }
+        for (MenuItem.Status status : MenuItem.Status.values()) {
+            byStatus.put(status, new BitSet(items.length));
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            MenuItemSummary item = items[i];
+            if (item.getCategory() != null) {
+                byCategory.get(item.getCategory()).set(i);
+            }
+            if (item.getStatus() != null) {
+                byStatus.get(item.getStatus()).set(i);
+            }
+            vegetarian.set(i, item.isVegetarian());
+            vegan.set(i, item.isVegan());
+            spicy.set(i, item.isSpicy());
+        }
+
+        byPrice = new Integer[items.length];
+        for (int i = 0; i < items.length; i++) {
+            byPrice[i] = i;
+        }
+        Arrays.sort(byPrice, Comparator.comparing(i -> items[i].getPrice()));
+    }
+
+    public FacetedMenuResult filter(MenuFacetQuery query) {
+        BitSet priced = new BitSet(items.length);
+        priced.set(0, items.length);
+        if (query.getMinPrice() != null || query.getMaxPrice() != null) {
+            priced.and(priceRange(query.getMinPrice(), query.getMaxPrice()));
+        }
+        BitSet common = applyFlags(priced, query, null);
+
+        BitSet categoryMask = query.getCategory() == null ? null : byCategory.get(query.getCategory());
+        BitSet statusMask = query.getStatus() == null ? null : byStatus.get(query.getStatus());
+
+        BitSet withoutCategory = and(common, statusMask);
+        BitSet withoutStatus = and(common, categoryMask);
+        BitSet matches = and(withoutCategory, categoryMask);
+
+        Map<MenuItem.Category, Integer> categoryCounts = new EnumMap<>(MenuItem.Category.class);
+        byCategory.forEach((category, bits) -> categoryCounts.put(category, intersectionSize(withoutCategory, bits)));
+        Map<MenuItem.Status, Integer> statusCounts = new EnumMap<>(MenuItem.Status.class);
+        byStatus.forEach((status, bits) -> statusCounts.put(status, intersectionSize(withoutStatus, bits)));
+
+        List<MenuItemSummary> matchingItems = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            matchingItems.add(items[i]);
+        }
+
+        BitSet scoped = and(and(priced, categoryMask), statusMask);
+        return new FacetedMenuResult(matchingItems, categoryCounts, statusCounts,
+                intersectionSize(applyFlags(scoped, query, vegetarian), vegetarian),
+                intersectionSize(applyFlags(scoped, query, vegan), vegan),
+                intersectionSize(applyFlags(scoped, query, spicy), spicy));
+    }
+
+    // Applies the query's dietary filters to a copy of base, leaving out the one for skip
+    private BitSet applyFlags(BitSet base, MenuFacetQuery query, BitSet skip) {
+        BitSet result = (BitSet) base.clone();
+        if (skip != vegetarian) {
+            applyFlag(result, vegetarian, query.getVegetarian());
+        }
+        if (skip != vegan) {
+            applyFlag(result, vegan, query.getVegan());
+        }
+        if (skip != spicy) {
+            applyFlag(result, spicy, query.getSpicy());
+        }
+        return result;
+    }
+
+    private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        int from = minPrice == null ? 0 : lowerBound(minPrice, false);
+        int to = maxPrice == null ? byPrice.length : lowerBound(maxPrice, true);
+        BitSet range = new BitSet(items.length);
+        for (int i = from; i < to; i++) {
+            range.set(byPrice[i]);
+        }
+        return range;
+    }
+
+    /**
+     * First position in price order whose price is {@code >= bound}, or {@code > bound} when
+     * {@code inclusive} is set (so it can serve as the exclusive end of a closed range).
+     */
+    private int lowerBound(BigDecimal bound, boolean inclusive) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = items[byPrice[mid]].getPrice().compareTo(bound);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void applyFlag(BitSet target, BitSet flag, Boolean wanted) {
+        if (wanted == null) {
+            return;
+        }
+        if (wanted) {
+            target.and(flag);
+        } else {
+            target.andNot(flag);
+        }
+    }
+
+    private static BitSet and(BitSet base, BitSet mask) {
+        BitSet result = (BitSet) base.clone();
+        if (mask != null) {
+            result.and(mask);
+        }
+        return result;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result.cardinality();
+    }
+}
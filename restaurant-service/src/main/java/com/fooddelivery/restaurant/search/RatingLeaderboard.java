@@ -0,0 +1,109 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ACTIVE restaurants kept sorted by rating (highest first, ties by id). Writers re-position a
+ * single entry; readers walk the head of the skip list without locking, so a top-K read costs
+ * O(K) and never touches the database.
+ */
+@Component
+public class RatingLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingLeaderboard.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<RankKey> RANKING = Comparator.comparingDouble(RankKey::getRating).reversed()
+            .thenComparingLong(RankKey::getRestaurantId);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final ConcurrentSkipListMap<RankKey, RestaurantSummary> ranked = new ConcurrentSkipListMap<>(RANKING);
+    private final Map<Long, RankKey> keys = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ranked.clear();
+        keys.clear();
+
+        long lastId = 0L;
+        List<RestaurantSummary> restaurants;
+        do {
+            restaurants = restaurantRepository.findSummariesAfterId(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (RestaurantSummary restaurant : restaurants) {
+                update(restaurant);
+                lastId = restaurant.getId();
+            }
+        } while (restaurants.size() == REBUILD_BATCH_SIZE);
+
+        logger.info("Rating leaderboard built with {} active restaurants", ranked.size());
+    }
+
+    public synchronized void update(RestaurantSummary restaurant) {
+        remove(restaurant.getId());
+        if (restaurant.getStatus() != Restaurant.Status.ACTIVE) {
+            return;
+        }
+        double rating = restaurant.getRating() == null ? 0.0 : restaurant.getRating();
+        RankKey key = new RankKey(rating, restaurant.getId());
+        ranked.put(key, restaurant);
+        keys.put(restaurant.getId(), key);
+    }
+
+    public synchronized void remove(Long restaurantId) {
+        RankKey key = keys.remove(restaurantId);
+        if (key != null) {
+            ranked.remove(key);
+        }
+    }
+
+    public boolean contains(Long restaurantId) {
+        return keys.containsKey(restaurantId);
+    }
+
+    public List<RestaurantSummary> top(double minRating, int limit) {
+        List<RestaurantSummary> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Map.Entry<RankKey, RestaurantSummary> entry : ranked.entrySet()) {
+            if (top.size() >= limit || entry.getKey().getRating() < minRating) {
+                break;
+            }
+            top.add(entry.getValue());
+        }
+        return top;
+    }
+
+    private static final class RankKey {
+        private final double rating;
+        private final long restaurantId;
+
+        RankKey(double rating, long restaurantId) {
+            this.rating = rating;
+            this.restaurantId = restaurantId;
+        }
+
+        double getRating() {
+            return rating;
+        }
+
+        long getRestaurantId() {
+            return restaurantId;
+        }
+    }
+}
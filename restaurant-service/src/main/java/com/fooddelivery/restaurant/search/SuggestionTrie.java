@@ -0,0 +1,320 @@
+package com.fooddelivery.restaurant.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix-completion trie over weighted values. Every node tracks the highest weight below it, so
+ * a top-N completion is a best-first walk that expands only the branches that can still place,
+ * instead of enumerating every completion of the prefix. When exact prefix matches run short,
+ * completions of any indexed prefix within one edit (insert, delete or substitute) of the query
+ * fill the remaining slots. Children are kept in sorted char arrays to keep nodes small.
+ */
+public class SuggestionTrie<T> {
+
+    private static final int FUZZY_MIN_LENGTH = 3;
+    private static final int MAX_EDITS = 1;
+
+    private final Node<T> root = new Node<>();
+    private final Map<T, List<String>> registrations = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", InvertedIndex.tokenize(text));
+    }
+
+    /**
+     * Keys for a name: the whole normalized name plus the remainder from every later word, so
+     * "Pizza Hut" completes from both "piz" and "hu".
+     */
+    public static List<String> keysFor(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Replaces whatever was registered for {@code value} with the given keys and weight.
+     */
+    public void put(T value, Collection<String> keys, double weight) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(value);
+            for (String key : keys) {
+                insert(key, value, weight);
+            }
+            registrations.put(value, new ArrayList<>(keys));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(T value) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.labels = new char[0];
+            root.children = newChildren(0);
+            root.values = null;
+            root.maxWeight = 0;
+            registrations.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return registrations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> complete(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<T> results = new LinkedHashSet<>();
+            Node<T> exact = find(prefix);
+            if (exact != null) {
+                collectTop(Collections.singletonList(exact), limit, results);
+            }
+            if (results.size() < limit && prefix.length() >= FUZZY_MIN_LENGTH) {
+                List<Node<T>> fuzzy = new ArrayList<>();
+                int[] firstRow = new int[prefix.length() + 1];
+                for (int i = 0; i < firstRow.length; i++) {
+                    firstRow[i] = i;
+                }
+                collectFuzzy(root, prefix, firstRow, fuzzy);
+                collectTop(fuzzy, limit, results);
+            }
+            return new ArrayList<>(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, T value, double weight) {
+        Node<T> node = root;
+        node.maxWeight = Math.max(node.maxWeight, weight);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.maxWeight = Math.max(node.maxWeight, weight);
+        }
+        if (node.values == null) {
+            node.values = new HashMap<>(2);
+        }
+        node.values.put(value, weight);
+    }
+
+    private void removeLocked(T value) {
+        List<String> keys = registrations.remove(value);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            List<Node<T>> path = new ArrayList<>(key.length() + 1);
+            Node<T> node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+                path.add(node);
+            }
+            if (node == null || node.values == null) {
+                continue;
+            }
+            node.values.remove(value);
+            if (node.values.isEmpty()) {
+                node.values = null;
+            }
+            // Walk back up, dropping emptied nodes and recomputing the subtree maxima
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                Node<T> current = path.get(depth);
+                if (depth > 0 && current.isEmpty()) {
+                    path.get(depth - 1).removeChild(key.charAt(depth - 1));
+                } else {
+                    current.recomputeMaxWeight();
+                }
+            }
+        }
+    }
+
+    private Node<T> find(String prefix) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private void collectTop(List<Node<T>> starts, int limit, Set<T> results) {
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>();
+        for (Node<T> start : starts) {
+            queue.add(new Candidate<>(start.maxWeight, start, null));
+        }
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate<T> candidate = queue.poll();
+            if (candidate.node == null) {
+                results.add(candidate.value);
+                continue;
+            }
+            Node<T> node = candidate.node;
+            if (node.values != null) {
+                node.values.forEach((value, weight) -> queue.add(new Candidate<>(weight, null, value)));
+            }
+            for (int i = 0; i < node.labels.length; i++) {
+                queue.add(new Candidate<>(node.children[i].maxWeight, node.children[i], null));
+            }
+        }
+    }
+
+    /**
+     * Levenshtein walk: each step extends the edit-distance row of the query against the path so
+     * far, stops at the first node whose path is within reach of the whole query, and prunes any
+     * branch whose row has already exceeded the edit budget everywhere.
+     */
+    private void collectFuzzy(Node<T> node, String query, int[] previousRow, List<Node<T>> matches) {
+        for (int c = 0; c < node.labels.length; c++) {
+            char label = node.labels[c];
+            int[] row = new int[previousRow.length];
+            row[0] = previousRow[0] + 1;
+            int rowMin = row[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = previousRow[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+                row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+            Node<T> child = node.children[c];
+            if (row[row.length - 1] <= MAX_EDITS) {
+                matches.add(child);
+            } else if (rowMin <= MAX_EDITS) {
+                collectFuzzy(child, query, row, matches);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newChildren(int size) {
+        return (Node<T>[]) new Node[size];
+    }
+
+    private static final class Node<T> {
+        private char[] labels = new char[0];
+        private Node<T>[] children = newChildren(0);
+        private Map<T, Double> values;
+        private double maxWeight;
+
+        private Node<T> child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node<T> childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node<T>[] newChildren = newChildren(children.length + 1);
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node<T> child = new Node<>();
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node<T>[] newChildren = newChildren(children.length - 1);
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return values == null && labels.length == 0;
+        }
+
+        private void recomputeMaxWeight() {
+            double max = 0;
+            if (values != null) {
+                for (double weight : values.values()) {
+                    max = Math.max(max, weight);
+                }
+            }
+            for (Node<T> child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    private static final class Candidate<T> implements Comparable<Candidate<T>> {
+        private final double score;
+        private final Node<T> node;
+        private final T value;
+
+        private Candidate(double score, Node<T> node, T value) {
+            this.score = score;
+            this.node = node;
+            this.value = value;
+        }
+
+        // Highest score first; at equal scores values come out before the nodes still to expand
+        @Override
+        public int compareTo(Candidate<T> other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            return Boolean.compare(node != null, other.node != null);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one summary per line in id order. Rows come
+ * off a forward-only cursor as unmanaged projections and go straight to the output, so memory use
+ * does not depend on the catalog size. A consumer that loses the connection resumes by passing the
+ * last id it received as {@code afterId}.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportRestaurants(long afterId, OutputStream out) {
+        try (Stream<RestaurantSummary> restaurants = restaurantRepository.streamSummariesAfterId(afterId)) {
+            long written = writeNdjson(restaurants.iterator(), out);
+            logger.debug("Exported {} restaurants after id {}", written, afterId);
+            return written;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMenuItems(long afterId, OutputStream out) {
+        try (Stream<MenuItemSummary> menuItems = menuItemRepository.streamSummariesAfterId(afterId)) {
+            long written = writeNdjson(menuItems.iterator(), out);
+            logger.debug("Exported {} menu items after id {}", written, afterId);
+            return written;
+        }
+    }
+
+    private long writeNdjson(Iterator<?> rows, OutputStream out) {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Catalog export interrupted after " + written + " rows", e);
+        }
+        return written;
+    }
+}
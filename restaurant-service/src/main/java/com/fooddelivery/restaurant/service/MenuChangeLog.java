@@ -0,0 +1,73 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
+import com.fooddelivery.restaurant.model.MenuChange;
+import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records menu mutations in the transaction that makes them. Versions come from the restaurant's
+ * highest logged version while its row is locked, so they are assigned in commit order: once a
+ * client has read up to version N, no change numbered N or lower can still appear. Callers record
+ * before writing menu rows, so every menu write takes the restaurant lock first.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class MenuChangeLog {
+
+    @Autowired
+    private MenuChangeRepository menuChangeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void recordCreated(Long restaurantId, List<Long> menuItemIds) {
+        long version = lockMenu(restaurantId);
+        LocalDateTime now = LocalDateTime.now();
+        for (Long menuItemId : menuItemIds) {
+            MenuChange change = new MenuChange(menuItemId, restaurantId);
+            change.setVersion(++version);
+            change.setChangedAt(now);
+            entityManager.persist(change);
+        }
+    }
+
+    public long recordUpdated(Long restaurantId, Long menuItemId) {
+        return record(restaurantId, menuItemId, false);
+    }
+
+    public long recordDeleted(Long restaurantId, Long menuItemId) {
+        return record(restaurantId, menuItemId, true);
+    }
+
+    private long record(Long restaurantId, Long menuItemId, boolean deleted) {
+        long version = lockMenu(restaurantId);
+        MenuChange change = menuChangeRepository.findById(menuItemId).orElse(null);
+        if (change == null) {
+            change = new MenuChange(menuItemId, restaurantId);
+            entityManager.persist(change);
+        }
+        change.setVersion(version + 1);
+        change.setDeleted(deleted);
+        change.setChangedAt(LocalDateTime.now());
+        return change.getVersion();
+    }
+
+    private long lockMenu(Long restaurantId) {
+        if (entityManager.find(Restaurant.class, restaurantId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            throw new RestaurantNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        Long version = menuChangeRepository.findMaxVersion(restaurantId);
+        return version == null ? 0L : version;
+    }
+}
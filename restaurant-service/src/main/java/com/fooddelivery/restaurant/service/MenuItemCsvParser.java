@@ -0,0 +1,132 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.MenuItemDto;
+import com.fooddelivery.restaurant.model.MenuItem;
+import com.fooddelivery.support.BulkImportResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses menu item CSV uploads. The first record is a header naming the columns (any order,
+ * case-insensitive); {@code name}, {@code description} and {@code price} are required and
+ * {@code category}, {@code imageUrl}, {@code vegetarian}, {@code vegan} and {@code spicy} are
+ * optional. Quoted fields may contain commas, newlines and doubled quotes.
+ */
+final class MenuItemCsvParser {
+
+    private static final String[] REQUIRED_COLUMNS = {"name", "description", "price"};
+
+    private MenuItemCsvParser() {}
+
+    /**
+     * Returns one entry per data record, in order. Records that cannot be converted are left as
+     * {@code null} and reported in {@code errors} with their 1-based data row number.
+     */
+    static List<MenuItemDto> parse(String csv, List<BulkImportResult.RowError> errors) {
+        List<List<String>> records = readRecords(csv);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("CSV payload is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing required column: " + required);
+            }
+        }
+
+        List<MenuItemDto> rows = new ArrayList<>(records.size() - 1);
+        for (int r = 1; r < records.size(); r++) {
+            List<String> record = records.get(r);
+            try {
+                MenuItemDto dto = new MenuItemDto();
+                dto.setName(field(record, columns, "name"));
+                dto.setDescription(field(record, columns, "description"));
+                String price = field(record, columns, "price");
+                dto.setPrice(price == null ? null : new BigDecimal(price));
+                String category = field(record, columns, "category");
+                dto.setCategory(category == null ? null : MenuItem.Category.valueOf(category.toUpperCase(Locale.ROOT)));
+                dto.setImageUrl(field(record, columns, "imageurl"));
+                dto.setVegetarian(flag(record, columns, "vegetarian"));
+                dto.setVegan(flag(record, columns, "vegan"));
+                dto.setSpicy(flag(record, columns, "spicy"));
+                rows.add(dto);
+            } catch (IllegalArgumentException e) {
+                errors.add(new BulkImportResult.RowError(r, "Unparseable value: " + e.getMessage()));
+                rows.add(null);
+            }
+        }
+        return rows;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean flag(List<String> record, Map<String, Integer> columns, String column) {
+        String value = field(record, columns, column);
+        return value != null && (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("yes") || value.equals("1"));
+    }
+
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blankLine = true;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                blankLine = false;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                blankLine = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (!blankLine) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                blankLine = true;
+            } else {
+                field.append(c);
+                blankLine = false;
+            }
+        }
+        if (!blankLine) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -1,94 +1,392 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.restaurant.cache.EntityCacheInvalidator;
+import com.fooddelivery.restaurant.cache.MenuFormat;
+import com.fooddelivery.restaurant.cache.MenuSnapshot;
+import com.fooddelivery.restaurant.cache.MenuSnapshotCache;
+import com.fooddelivery.restaurant.dto.CursorPage;
+import com.fooddelivery.restaurant.dto.FacetedMenuResult;
+import com.fooddelivery.restaurant.dto.MenuChanges;
+import com.fooddelivery.restaurant.dto.MenuFacetQuery;
 import com.fooddelivery.restaurant.dto.MenuItemDto;
+import com.fooddelivery.restaurant.dto.MenuItemEvent;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.PageCursor;
 import com.fooddelivery.restaurant.exception.MenuItemNotFoundException;
 import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
+import com.fooddelivery.restaurant.model.MenuChange;
 import com.fooddelivery.restaurant.model.MenuItem;
 import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuChangeRepository;
 import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import com.fooddelivery.restaurant.stream.MenuEventHub;
+import com.fooddelivery.support.BulkImportResult;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnit;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class MenuItemService {
 
+    public static final int MAX_IMPORT_ROWS = 10000;
+
+    // Matches hibernate.jdbc.batch_size and the menu item sequence allocation size
+    private static final int IMPORT_BATCH_SIZE = 50;
+
+    private static final String UPDATE_STATUS_SQL = "UPDATE menu_items SET status = ?, updated_at = ?, "
+            + "version = COALESCE(version, 0) + 1 WHERE id = ? AND restaurant_id = ?";
+
+    private static final String COUNT_ITEM_SQL = "SELECT COUNT(*) FROM menu_items WHERE id = ? AND restaurant_id = ?";
+
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM menu_items WHERE id = ?";
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MenuChangeLog menuChangeLog;
+
+    @Autowired
+    private MenuChangeRepository menuChangeRepository;
+
+    @Autowired
+    private MenuEventHub menuEventHub;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
     public MenuItem createMenuItem(MenuItemDto menuItemDto) {
-        Restaurant restaurant = restaurantRepository.findById(menuItemDto.getRestaurantId())
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + menuItemDto.getRestaurantId()));
+        MenuItem savedMenuItem = transactionTemplate.execute(status -> {
+            Restaurant restaurant = restaurantRepository.findById(menuItemDto.getRestaurantId())
+                    .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + menuItemDto.getRestaurantId()));
 
-        MenuItem menuItem = new MenuItem();
-        menuItem.setName(menuItemDto.getName());
-        menuItem.setDescription(menuItemDto.getDescription());
-        menuItem.setPrice(menuItemDto.getPrice());
-        menuItem.setCategory(menuItemDto.getCategory());
-        menuItem.setImageUrl(menuItemDto.getImageUrl());
-        menuItem.setVegetarian(menuItemDto.isVegetarian());
-        menuItem.setVegan(menuItemDto.isVegan());
-        menuItem.setSpicy(menuItemDto.isSpicy());
-        menuItem.setRestaurant(restaurant);
+            MenuItem menuItem = newMenuItem(menuItemDto, restaurant);
+            entityManager.persist(menuItem);
+            menuChangeLog.recordCreated(restaurant.getId(), Collections.singletonList(menuItem.getId()));
+            return menuItem;
+        });
+        searchIndex.indexMenuItem(MenuItemSummary.from(savedMenuItem));
+        menuChanged(savedMenuItem.getRestaurant().getId());
+        return savedMenuItem;
+    }
+
+    public BulkImportResult importMenuItems(Long restaurantId, List<MenuItemDto> menuItemDtos) {
+        return importRows(restaurantId, menuItemDtos, new ArrayList<>());
+    }
 
-        return menuItemRepository.save(menuItem);
+    public BulkImportResult importMenuItemsCsv(Long restaurantId, String csv) {
+        List<BulkImportResult.RowError> errors = new ArrayList<>();
+        List<MenuItemDto> rows = MenuItemCsvParser.parse(csv, errors);
+        return importRows(restaurantId, rows, errors);
     }
 
+    @Transactional(readOnly = true)
     public Optional<MenuItem> getMenuItemById(Long id) {
         return menuItemRepository.findById(id);
     }
 
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAll();
+    /**
+     * Resolves the ids in request order, skipping unknown ones. Items already in the second-level
+     * cache are served from it and the rest are loaded with a single IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getMenuItemsByIds(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(MenuItem.class)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)))
+                .stream()
+                .filter(Objects::nonNull)
+                .map(MenuItemSummary::from)
+                .collect(Collectors.toList());
     }
 
-    public List<MenuItem> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantId(restaurantId);
+    @Transactional(readOnly = true)
+    public CursorPage<MenuItemSummary> getMenuItemsPage(String after, int limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        long afterId = after == null ? 0L : PageCursor.decode(after).getId();
+        List<MenuItemSummary> rows = menuItemRepository.findSummariesAfterId(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, menuItem -> PageCursor.ofId(menuItem.getId()));
     }
 
-    public List<MenuItem> getAvailableMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndStatus(restaurantId, MenuItem.Status.AVAILABLE);
+    // Not routed to a replica: a snapshot outlives the request, so it is always built from the primary
+    public MenuSnapshot.Representation getMenuRepresentation(Long restaurantId, MenuFormat format, boolean acceptsGzip) {
+        return menuSnapshotCache.getRepresentation(restaurantId, format, acceptsGzip);
     }
 
-    public List<MenuItem> getMenuItemsByCategory(MenuItem.Category category) {
-        return menuItemRepository.findByCategory(category);
+    public FacetedMenuResult filterMenuItems(Long restaurantId, MenuFacetQuery query) {
+        return menuSnapshotCache.getSnapshot(restaurantId).getFacets().filter(query);
     }
 
-    public List<MenuItem> getMenuItemsByRestaurantAndCategory(Long restaurantId, MenuItem.Category category) {
-        return menuItemRepository.findByRestaurantIdAndCategory(restaurantId, category);
+    /**
+     * Returns the items changed or deleted after {@code since}, each once with its current state.
+     * A client starts from {@code since=0}, which yields the whole live menu, and then passes back
+     * the returned version. A version the log has never reached means the client must resync;
+     * this is read from the primary, since a lagging replica would look like a reset log.
+     */
+    public MenuChanges getMenuChanges(Long restaurantId, long since) {
+        List<MenuChange> changes = menuChangeRepository.findByRestaurantIdAndVersionGreaterThanOrderByVersion(restaurantId, since);
+        if (changes.isEmpty()) {
+            Long latest = menuChangeRepository.findMaxVersion(restaurantId);
+            long version = latest == null ? 0L : latest;
+            return new MenuChanges(restaurantId, since, version, since > version,
+                    Collections.emptyList(), Collections.emptyList());
+        }
+
+        List<Long> upsertedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (MenuChange change : changes) {
+            (change.isDeleted() ? deletedIds : upsertedIds).add(change.getMenuItemId());
+        }
+        Map<Long, MenuItemSummary> menuItemsById = upsertedIds.isEmpty() ? Collections.emptyMap()
+                : menuItemRepository.findSummariesByIdIn(upsertedIds).stream()
+                        .collect(Collectors.toMap(MenuItemSummary::getId, Function.identity()));
+        List<MenuItemSummary> upserted = upsertedIds.stream()
+                .map(menuItemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        long version = changes.get(changes.size() - 1).getVersion();
+        return new MenuChanges(restaurantId, since, version, false, upserted, deletedIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getAvailableMenuItemsByRestaurant(Long restaurantId) {
+        return menuItemRepository.findSummariesByRestaurantIdAndStatus(restaurantId, MenuItem.Status.AVAILABLE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getMenuItemsByCategory(MenuItem.Category category) {
+        return menuItemRepository.findSummariesByCategory(category);
     }
 
-    public List<MenuItem> getVegetarianMenuItems() {
-        return menuItemRepository.findByIsVegetarianTrue();
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getMenuItemsByRestaurantAndCategory(Long restaurantId, MenuItem.Category category) {
+        return menuItemRepository.findSummariesByRestaurantIdAndCategory(restaurantId, category);
     }
 
-    public List<MenuItem> getVeganMenuItems() {
-        return menuItemRepository.findByIsVeganTrue();
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getVegetarianMenuItems() {
+        return menuItemRepository.findVegetarianSummaries();
     }
 
-    public List<MenuItem> getVegetarianMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndIsVegetarianTrue(restaurantId);
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getVeganMenuItems() {
+        return menuItemRepository.findVeganSummaries();
     }
 
-    public List<MenuItem> getMenuItemsByPriceRange(Long restaurantId, BigDecimal minPrice, BigDecimal maxPrice) {
-        return menuItemRepository.findByRestaurantIdAndPriceBetween(restaurantId, minPrice, maxPrice);
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getVegetarianMenuItemsByRestaurant(Long restaurantId) {
+        return menuItemRepository.findVegetarianSummariesByRestaurantId(restaurantId);
     }
 
-    public List<MenuItem> searchMenuItems(Long restaurantId, String keyword) {
-        return menuItemRepository.searchMenuItems(restaurantId, keyword);
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> getMenuItemsByPriceRange(Long restaurantId, BigDecimal minPrice, BigDecimal maxPrice) {
+        return menuItemRepository.findSummariesByRestaurantIdAndPriceBetween(restaurantId, minPrice, maxPrice);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuItemSummary> searchMenuItems(Long restaurantId, String keyword, int limit) {
+        List<Long> rankedIds = searchIndex.searchMenuItemIds(restaurantId, keyword, limit);
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, MenuItemSummary> menuItemsById = menuItemRepository.findSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(MenuItemSummary::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(menuItemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public MenuItem updateMenuItem(Long id, MenuItemDto menuItemDto) {
-        MenuItem menuItem = menuItemRepository.findById(id)
-                .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found with id: " + id));
+        long[] changeVersion = new long[1];
+        MenuItem savedMenuItem = transactionTemplate.execute(status -> {
+            MenuItem menuItem = menuItemRepository.findById(id)
+                    .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found with id: " + id));
+            if (menuItemDto.getVersion() != null && !menuItemDto.getVersion().equals(menuItem.getVersion())) {
+                throw new OptimisticLockingFailureException("Menu item " + id + " has been modified since version " + menuItemDto.getVersion());
+            }
+            changeVersion[0] = menuChangeLog.recordUpdated(menuItem.getRestaurant().getId(), id);
+
+            menuItem.setName(menuItemDto.getName());
+            menuItem.setDescription(menuItemDto.getDescription());
+            menuItem.setPrice(menuItemDto.getPrice());
+            menuItem.setCategory(menuItemDto.getCategory());
+            menuItem.setImageUrl(menuItemDto.getImageUrl());
+            menuItem.setVegetarian(menuItemDto.isVegetarian());
+            menuItem.setVegan(menuItemDto.isVegan());
+            menuItem.setSpicy(menuItemDto.isSpicy());
+            return menuItem;
+        });
+        searchIndex.indexMenuItem(MenuItemSummary.from(savedMenuItem));
+        menuChanged(savedMenuItem.getRestaurant().getId());
+        menuEventHub.publish(MenuItemEvent.itemChanged(savedMenuItem, changeVersion[0]));
+        return savedMenuItem;
+    }
 
+    /**
+     * Flips the status with a single versioned UPDATE instead of loading the item. The row is
+     * written over JDBC so that only this item's second-level cache entry is evicted; a JPQL or
+     * native bulk update would evict the whole menu item region. When a version is given the
+     * update only applies if the item is still at that version. Returns the item's new version.
+     */
+    public long updateMenuItemStatus(Long restaurantId, Long id, MenuItem.Status status, Long expectedVersion) {
+        long[] versions = transactionTemplate.execute(tx -> {
+            entityCacheInvalidator.beforeRowUpdate(MenuItem.class, id, "menu_items");
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int updated = expectedVersion == null
+                    ? jdbcTemplate.update(UPDATE_STATUS_SQL, status.name(), now, id, restaurantId)
+                    : jdbcTemplate.update(UPDATE_STATUS_SQL + " AND version = ?", status.name(), now, id, restaurantId, expectedVersion);
+            if (updated == 0) {
+                if (jdbcTemplate.queryForObject(COUNT_ITEM_SQL, Integer.class, id, restaurantId) == 0) {
+                    throw new MenuItemNotFoundException("Menu item not found with id: " + id);
+                }
+                throw new OptimisticLockingFailureException("Menu item " + id + " has been modified since version " + expectedVersion);
+            }
+            long version = expectedVersion != null
+                    ? expectedVersion + 1
+                    : jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class, id);
+            return new long[]{version, menuChangeLog.recordUpdated(restaurantId, id)};
+        });
+        menuChanged(restaurantId);
+        menuEventHub.publish(MenuItemEvent.statusChanged(restaurantId, id, versions[1], status));
+        return versions[0];
+    }
+
+    public void deleteMenuItem(Long id) {
+        Long restaurantId = transactionTemplate.execute(status -> {
+            MenuItem menuItem = menuItemRepository.findById(id)
+                    .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found with id: " + id));
+            menuChangeLog.recordDeleted(menuItem.getRestaurant().getId(), id);
+
+            menuItemRepository.delete(menuItem);
+            return menuItem.getRestaurant().getId();
+        });
+        searchIndex.removeMenuItem(id);
+        menuChanged(restaurantId);
+    }
+
+    private BulkImportResult importRows(Long restaurantId, List<MenuItemDto> rows, List<BulkImportResult.RowError> errors) {
+        if (rows.size() > MAX_IMPORT_ROWS) {
+            throw new IllegalArgumentException("Bulk import is limited to " + MAX_IMPORT_ROWS + " rows per request");
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+
+        // Validate everything before writing anything, so a rejected import leaves no partial menu behind
+        Set<Integer> unparseableRows = errors.stream().map(BulkImportResult.RowError::getRow).collect(Collectors.toSet());
+        for (int i = 0; i < rows.size(); i++) {
+            MenuItemDto row = rows.get(i);
+            if (row == null) {
+                // CSV rows that failed to parse are already reported; a null JSON element is not
+                if (!unparseableRows.contains(i + 1)) {
+                    errors.add(new BulkImportResult.RowError(i + 1, "Row is empty"));
+                }
+                continue;
+            }
+            row.setRestaurantId(restaurantId);
+            for (ConstraintViolation<MenuItemDto> violation : validator.validate(row)) {
+                errors.add(new BulkImportResult.RowError(i + 1, violation.getPropertyPath() + ": " + violation.getMessage()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(BulkImportResult.RowError::getRow));
+            return new BulkImportResult(rows.size(), 0, errors);
+        }
+
+        List<MenuItemSummary> imported = transactionTemplate.execute(status -> persistInBatches(restaurantId, rows));
+        imported.forEach(searchIndex::indexMenuItem);
+        menuChanged(restaurantId);
+        return new BulkImportResult(rows.size(), imported.size(), errors);
+    }
+
+    private List<MenuItemSummary> persistInBatches(Long restaurantId, List<MenuItemDto> rows) {
+        List<MenuItemSummary> imported = new ArrayList<>(rows.size());
+        List<Long> batchIds = new ArrayList<>(IMPORT_BATCH_SIZE);
+        Restaurant restaurant = entityManager.getReference(Restaurant.class, restaurantId);
+        for (int i = 0; i < rows.size(); i++) {
+            MenuItem menuItem = newMenuItem(rows.get(i), restaurant);
+            entityManager.persist(menuItem);
+            imported.add(MenuItemSummary.from(menuItem));
+            batchIds.add(menuItem.getId());
+            if (batchIds.size() == IMPORT_BATCH_SIZE || i == rows.size() - 1) {
+                menuChangeLog.recordCreated(restaurantId, batchIds);
+                batchIds.clear();
+            }
+            if ((i + 1) % IMPORT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                restaurant = entityManager.getReference(Restaurant.class, restaurantId);
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Drops everything derived from a restaurant's menu. Menu items are persisted without touching
+     * the inverse {@code Restaurant.menuItems} collection, so its cached copy is evicted explicitly.
+     */
+    private void menuChanged(Long restaurantId) {
+        menuSnapshotCache.invalidate(restaurantId);
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                .evictCollectionData(Restaurant.class.getName() + ".menuItems", restaurantId);
+    }
+
+    private MenuItem newMenuItem(MenuItemDto menuItemDto, Restaurant restaurant) {
+        MenuItem menuItem = new MenuItem();
         menuItem.setName(menuItemDto.getName());
         menuItem.setDescription(menuItemDto.getDescription());
         menuItem.setPrice(menuItemDto.getPrice());
@@ -97,22 +395,7 @@ public class MenuItemService {
         menuItem.setVegetarian(menuItemDto.isVegetarian());
         menuItem.setVegan(menuItemDto.isVegan());
         menuItem.setSpicy(menuItemDto.isSpicy());
-
-        return menuItemRepository.save(menuItem);
-    }
-
-    public MenuItem updateMenuItemStatus(Long id, MenuItem.Status status) {
-        MenuItem menuItem = menuItemRepository.findById(id)
-                .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found with id: " + id));
-
-        menuItem.setStatus(status);
-        return menuItemRepository.save(menuItem);
-    }
-
-    public void deleteMenuItem(Long id) {
-        if (!menuItemRepository.existsById(id)) {
-            throw new MenuItemNotFoundException("Menu item not found with id: " + id);
-        }
-        menuItemRepository.deleteById(id);
+        menuItem.setRestaurant(restaurant);
+        return menuItem;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.CursorPage;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.dto.PageCursor;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.ReactiveCatalogRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking mirror of the listing, search and menu reads in {@link RestaurantService} and
+ * {@link MenuItemService}. Nothing here blocks a request thread while waiting on the database;
+ * writes stay on the JPA services.
+ */
+@Service
+public class ReactiveCatalogService {
+
+    @Autowired
+    private ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    public Mono<CursorPage<RestaurantSummary>> getRestaurantsPage(String after, int limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        long afterId = after == null ? 0L : PageCursor.decode(after).getId();
+        return reactiveCatalogRepository.findSummariesAfterId(afterId, pageSize + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, pageSize, restaurant -> PageCursor.ofId(restaurant.getId())));
+    }
+
+    public Mono<CursorPage<RestaurantSummary>> getActiveRestaurantsPage(String after, int limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Flux<RestaurantSummary> rows;
+        if (after == null) {
+            rows = reactiveCatalogRepository.findSummariesByStatusOrderByRating(Restaurant.Status.ACTIVE, pageSize + 1);
+        } else {
+            PageCursor cursor = PageCursor.decode(after);
+            if (cursor.getRating() == null) {
+                return Mono.error(new IllegalArgumentException("Invalid page cursor: " + after));
+            }
+            rows = reactiveCatalogRepository.findSummariesByStatusAfterRating(Restaurant.Status.ACTIVE,
+                    cursor.getRating(), cursor.getId(), pageSize + 1);
+        }
+        return rows.collectList()
+                .map(page -> CursorPage.of(page, pageSize, restaurant -> PageCursor.ofRating(restaurant.getRating(), restaurant.getId())));
+    }
+
+    public Flux<RestaurantSummary> searchRestaurants(String keyword, int limit) {
+        List<Long> rankedIds = searchIndex.searchRestaurantIds(keyword, limit);
+        if (rankedIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveCatalogRepository.findSummariesByIdIn(rankedIds)
+                .collectMap(RestaurantSummary::getId)
+                .flatMapIterable(restaurantsById -> rankedIds.stream()
+                        .map(restaurantsById::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    public Flux<MenuItemSummary> getMenu(Long restaurantId) {
+        return reactiveCatalogRepository.findMenuItemSummariesByRestaurantId(restaurantId);
+    }
+
+    public Flux<MenuItemSummary> searchMenuItems(Long restaurantId, String keyword, int limit) {
+        List<Long> rankedIds = searchIndex.searchMenuItemIds(restaurantId, keyword, limit);
+        if (rankedIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveCatalogRepository.findMenuItemSummariesByIdIn(rankedIds)
+                .collectMap(MenuItemSummary::getId)
+                .flatMapIterable(menuItemsById -> rankedIds.stream()
+                        .map(menuItemsById::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+}
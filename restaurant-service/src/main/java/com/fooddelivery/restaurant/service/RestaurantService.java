@@ -1,22 +1,83 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.restaurant.cache.EntityCacheInvalidator;
+import com.fooddelivery.restaurant.cache.MenuSnapshotCache;
+import com.fooddelivery.restaurant.dto.CursorPage;
+import com.fooddelivery.restaurant.dto.NearbyRestaurant;
+import com.fooddelivery.restaurant.dto.PageCursor;
 import com.fooddelivery.restaurant.dto.RestaurantDto;
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.dto.Suggestions;
 import com.fooddelivery.restaurant.exception.RestaurantAlreadyExistsException;
 import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
 import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuChangeRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import com.fooddelivery.restaurant.search.GeoIndex;
+import com.fooddelivery.restaurant.search.RatingLeaderboard;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RestaurantService {
 
+    private static final String UPDATE_STATUS_SQL = "UPDATE restaurants SET status = ?, updated_at = ?, "
+            + "version = COALESCE(version, 0) + 1 WHERE id = ?";
+
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM restaurants WHERE id = ?";
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private MenuChangeRepository menuChangeRepository;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private RatingLeaderboard ratingLeaderboard;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Restaurant createRestaurant(RestaurantDto restaurantDto) {
         if (restaurantRepository.existsByEmail(restaurantDto.getEmail())) {
             throw new RestaurantAlreadyExistsException("Restaurant with email already exists: " + restaurantDto.getEmail());
@@ -30,53 +91,163 @@ public class RestaurantService {
         restaurant.setEmail(restaurantDto.getEmail());
         restaurant.setOwnerId(restaurantDto.getOwnerId());
         restaurant.setImageUrl(restaurantDto.getImageUrl());
+        restaurant.setLatitude(restaurantDto.getLatitude());
+        restaurant.setLongitude(restaurantDto.getLongitude());
 
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        refreshIndexes(RestaurantSummary.from(savedRestaurant));
+        return savedRestaurant;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Restaurant> getRestaurantById(Long id) {
         return restaurantRepository.findById(id);
     }
 
-    public List<Restaurant> getAllRestaurants() {
-        return restaurantRepository.findAll();
+    /**
+     * Resolves the ids in request order, skipping unknown ones. Restaurants already in the
+     * second-level cache are served from it and the rest are loaded with a single IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getRestaurantsByIds(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Restaurant.class)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)))
+                .stream()
+                .filter(Objects::nonNull)
+                .map(RestaurantSummary::from)
+                .collect(Collectors.toList());
     }
 
-    public List<Restaurant> getRestaurantsByOwner(Long ownerId) {
-        return restaurantRepository.findByOwnerId(ownerId);
+    @Transactional(readOnly = true)
+    public CursorPage<RestaurantSummary> getRestaurantsPage(String after, int limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        long afterId = after == null ? 0L : PageCursor.decode(after).getId();
+        List<RestaurantSummary> rows = restaurantRepository.findSummariesAfterId(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, restaurant -> PageCursor.ofId(restaurant.getId()));
     }
 
-    public List<Restaurant> getActiveRestaurants() {
-        return restaurantRepository.findByStatus(Restaurant.Status.ACTIVE);
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getRestaurantsByOwner(Long ownerId) {
+        return restaurantRepository.findSummariesByOwnerId(ownerId);
     }
 
-    public List<Restaurant> searchRestaurants(String keyword) {
-        return restaurantRepository.searchRestaurants(keyword);
+    @Transactional(readOnly = true)
+    public CursorPage<RestaurantSummary> getActiveRestaurantsPage(String after, int limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<RestaurantSummary> rows;
+        if (after == null) {
+            rows = restaurantRepository.findSummariesByStatusOrderByRating(Restaurant.Status.ACTIVE, pageRequest);
+        } else {
+            PageCursor cursor = PageCursor.decode(after);
+            if (cursor.getRating() == null) {
+                throw new IllegalArgumentException("Invalid page cursor: " + after);
+            }
+            rows = restaurantRepository.findSummariesByStatusAfterRating(Restaurant.Status.ACTIVE, cursor.getRating(), cursor.getId(), pageRequest);
+        }
+        return CursorPage.of(rows, pageSize, restaurant -> PageCursor.ofRating(restaurant.getRating(), restaurant.getId()));
     }
 
-    public List<Restaurant> getRestaurantsByRating(Double minRating) {
-        return restaurantRepository.findByRatingGreaterThanEqual(minRating);
+    public Suggestions suggest(String query, int limit) {
+        return searchIndex.suggest(query, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> searchRestaurants(String keyword, int limit) {
+        List<Long> rankedIds = searchIndex.searchRestaurantIds(keyword, limit);
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, RestaurantSummary> restaurantsById = restaurantRepository.findSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(RestaurantSummary::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(restaurantsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<NearbyRestaurant> getNearbyRestaurants(double latitude, double longitude, double radiusKm, int limit) {
+        // NaN fails every comparison below, so it has to be rejected first
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude) || !Double.isFinite(radiusKm)) {
+            throw new IllegalArgumentException("Coordinates and radiusKm must be finite numbers");
+        }
+        if (latitude < -90.0 || latitude > 90.0 || longitude < -180.0 || longitude > 180.0) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        if (radiusKm <= 0 || radiusKm > GeoIndex.MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + GeoIndex.MAX_RADIUS_KM);
+        }
+
+        List<GeoIndex.Hit> hits = geoIndex.nearby(latitude, longitude, radiusKm, CursorPage.normalizeLimit(limit));
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = hits.stream().map(GeoIndex.Hit::getRestaurantId).collect(Collectors.toList());
+        Map<Long, RestaurantSummary> restaurantsById = restaurantRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(RestaurantSummary::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> restaurantsById.containsKey(hit.getRestaurantId()))
+                .map(hit -> new NearbyRestaurant(restaurantsById.get(hit.getRestaurantId()), hit.getDistanceKm()))
+                .collect(Collectors.toList());
+    }
+
+    public List<RestaurantSummary> getRestaurantsByRating(Double minRating, int limit) {
+        return ratingLeaderboard.top(minRating, CursorPage.normalizeLimit(limit));
     }
 
     public Restaurant updateRestaurant(Long id, RestaurantDto restaurantDto) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + id));
+        if (restaurantDto.getVersion() != null && !restaurantDto.getVersion().equals(restaurant.getVersion())) {
+            throw new OptimisticLockingFailureException("Restaurant " + id + " has been modified since version " + restaurantDto.getVersion());
+        }
 
         restaurant.setName(restaurantDto.getName());
         restaurant.setDescription(restaurantDto.getDescription());
         restaurant.setAddress(restaurantDto.getAddress());
         restaurant.setPhoneNumber(restaurantDto.getPhoneNumber());
         restaurant.setImageUrl(restaurantDto.getImageUrl());
+        restaurant.setLatitude(restaurantDto.getLatitude());
+        restaurant.setLongitude(restaurantDto.getLongitude());
 
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        refreshIndexes(RestaurantSummary.from(savedRestaurant));
+        return savedRestaurant;
     }
 
-    public Restaurant updateRestaurantStatus(Long id, Restaurant.Status status) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + id));
+    /**
+     * Flips the status with a single versioned UPDATE instead of loading the restaurant, evicting
+     * only its own second-level cache entry; a JPQL or native bulk update would evict the whole
+     * restaurant region. When a version is given the update only applies if the restaurant is
+     * still at that version. Returns the restaurant's new version.
+     */
+    public long updateRestaurantStatus(Long id, Restaurant.Status status, Long expectedVersion) {
+        long version = transactionTemplate.execute(tx -> {
+            entityCacheInvalidator.beforeRowUpdate(Restaurant.class, id, "restaurants");
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int updated = expectedVersion == null
+                    ? jdbcTemplate.update(UPDATE_STATUS_SQL, status.name(), now, id)
+                    : jdbcTemplate.update(UPDATE_STATUS_SQL + " AND version = ?", status.name(), now, id, expectedVersion);
+            if (updated == 0) {
+                if (!restaurantRepository.existsById(id)) {
+                    throw new RestaurantNotFoundException("Restaurant not found with id: " + id);
+                }
+                throw new OptimisticLockingFailureException("Restaurant " + id + " has been modified since version " + expectedVersion);
+            }
+            return expectedVersion != null
+                    ? expectedVersion + 1
+                    : jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class, id);
+        });
 
-        restaurant.setStatus(status);
-        return restaurantRepository.save(restaurant);
+        if (status == Restaurant.Status.ACTIVE) {
+            restaurantRepository.findSummariesByIdIn(List.of(id)).forEach(this::refreshIndexes);
+        } else {
+            geoIndex.remove(id);
+            ratingLeaderboard.remove(id);
+        }
+        return version;
     }
 
     public void deleteRestaurant(Long id) {
@@ -84,14 +255,16 @@ public class RestaurantService {
             throw new RestaurantNotFoundException("Restaurant not found with id: " + id);
         }
         restaurantRepository.deleteById(id);
+        menuChangeRepository.deleteByRestaurantId(id);
+        searchIndex.removeRestaurant(id);
+        geoIndex.remove(id);
+        ratingLeaderboard.remove(id);
+        menuSnapshotCache.invalidate(id);
     }
 
-    public Restaurant updateRating(Long id, Double rating, Integer reviewCount) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + id));
-
-        restaurant.setRating(rating);
-        restaurant.setTotalReviews(reviewCount);
-        return restaurantRepository.save(restaurant);
+    private void refreshIndexes(RestaurantSummary summary) {
+        searchIndex.indexRestaurant(summary);
+        geoIndex.update(summary);
+        ratingLeaderboard.update(summary);
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.exception.RestaurantNotFoundException;
+import com.fooddelivery.restaurant.model.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import com.fooddelivery.restaurant.search.RatingLeaderboard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind review aggregation. Each review adds to a per-restaurant {@link LongAdder} that
+ * packs the review count into the high 32 bits and the star total into the low 32 bits, so the
+ * pair is drained atomically. A scheduled flush folds all pending deltas into the restaurants
+ * table with one batched, self-referencing UPDATE, which never loses concurrent reviews.
+ */
+@Service
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    private static final long ONE_REVIEW = 1L << 32;
+    private static final long STARS_MASK = ONE_REVIEW - 1;
+
+    private static final String APPLY_REVIEWS_SQL = "UPDATE restaurants SET "
+            + "rating = (COALESCE(rating, 0) * COALESCE(total_reviews, 0) + ?) / (COALESCE(total_reviews, 0) + ?), "
+            + "total_reviews = COALESCE(total_reviews, 0) + ?, "
+            + "updated_at = ?, "
+            + "version = COALESCE(version, 0) + 1 "
+            + "WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RatingLeaderboard ratingLeaderboard;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void submitReview(Long restaurantId, int rating) {
+        // Only ACTIVE restaurants are reviewable; the leaderboard already knows them, so no query is needed
+        if (!ratingLeaderboard.contains(restaurantId)) {
+            throw new RestaurantNotFoundException("Active restaurant not found with id: " + restaurantId);
+        }
+        pending.computeIfAbsent(restaurantId, id -> new LongAdder()).add(ONE_REVIEW + rating);
+    }
+
+    @Scheduled(fixedDelayString = "${reviews.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Long> drained = new HashMap<>();
+        pending.forEach((restaurantId, adder) -> {
+            long packed = adder.sumThenReset();
+            if (packed != 0) {
+                drained.put(restaurantId, packed);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((restaurantId, packed) -> {
+            long count = packed >>> 32;
+            long stars = packed & STARS_MASK;
+            batch.add(new Object[]{(double) stars, count, count, now, restaurantId});
+        });
+
+        // One transaction for the whole batch: after a failure nothing was applied, so re-queueing
+        // every drained delta cannot count a review twice
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_REVIEWS_SQL, batch));
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush reviews for {} restaurants, will retry: {}", drained.size(), e.getMessage());
+            drained.forEach((restaurantId, packed) -> pending.computeIfAbsent(restaurantId, id -> new LongAdder()).add(packed));
+            return;
+        }
+
+        // The UPDATE bypasses Hibernate, so cached copies of these restaurants are now stale
+        drained.keySet().forEach(restaurantId -> entityManagerFactory.getCache().evict(Restaurant.class, restaurantId));
+        for (RestaurantSummary restaurant : restaurantRepository.findSummariesByIdIn(drained.keySet())) {
+            ratingLeaderboard.update(restaurant);
+            searchIndex.updatePopularity(restaurant);
+        }
+        logger.debug("Flushed reviews for {} restaurants", drained.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
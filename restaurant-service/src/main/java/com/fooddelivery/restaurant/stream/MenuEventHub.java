@@ -0,0 +1,272 @@
+package com.fooddelivery.restaurant.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.dto.MenuItemEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans menu item events out to SSE subscribers. Publishing only serializes the event once and
+ * offers it to each subscriber's bounded queue; a small dispatcher pool drains the queues, with
+ * at most one drain in flight per subscriber, so an idle connection holds no thread and a slow
+ * one never blocks a writer. A subscriber whose queue overflows is disconnected and is expected to
+ * reconnect and catch up through the menu changes endpoint, using the last event id as the version.
+ * <p>
+ * A client that stops reading eventually fills its TCP window, and the blocking write then holds a
+ * dispatcher thread until the connector's write timeout ({@code server.tomcat.connection-timeout})
+ * fails it. Once a write has been stuck for {@code menu-events.write-timeout-ms} the subscriber is
+ * evicted and the pool grows by one thread until that write returns, so stuck clients cannot
+ * starve delivery to everyone else.
+ */
+@Component
+public class MenuEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuEventHub.class);
+
+    private static final String EVENT_NAME = "menu-item";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${menu-events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${menu-events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${menu-events.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${menu-events.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    private final Map<Long, Set<Subscriber>> subscribersByRestaurant = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor dispatcher;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "menu-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdown();
+    }
+
+    public SseEmitter subscribe(Collection<Long> restaurantIds) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), new LinkedHashSet<>(restaurantIds), bufferSize);
+        subscriber.emitter.onCompletion(() -> unregister(subscriber));
+        subscriber.emitter.onTimeout(() -> unregister(subscriber));
+        subscriber.emitter.onError(error -> unregister(subscriber));
+
+        subscribers.add(subscriber);
+        for (Long restaurantId : subscriber.restaurantIds) {
+            subscribersByRestaurant.compute(restaurantId, (id, restaurantSubscribers) -> {
+                Set<Subscriber> updated = restaurantSubscribers != null ? restaurantSubscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+        return subscriber.emitter;
+    }
+
+    public void publish(MenuItemEvent event) {
+        Set<Subscriber> targets = subscribersByRestaurant.get(event.getRestaurantId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        OutboundEvent outbound;
+        try {
+            outbound = new OutboundEvent(String.valueOf(event.getVersion()), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize menu event for item {}", event.getMenuItemId(), e);
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            if (subscriber.queue.offer(outbound)) {
+                scheduleDrain(subscriber);
+            } else {
+                logger.debug("Disconnecting slow menu event subscriber after {} undelivered events", bufferSize);
+                unregister(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Keeps idle connections from being reaped by proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${menu-events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Evicts subscribers whose current write has been blocked for longer than the write timeout, and
+     * lends the pool a replacement thread for as long as that write stays blocked.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        long writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        for (Subscriber subscriber : subscribers) {
+            boolean stalled;
+            synchronized (subscriber) {
+                long started = subscriber.sendStartedNanos;
+                stalled = started != 0 && !subscriber.stalled && now - started > writeTimeoutNanos;
+                if (stalled) {
+                    subscriber.stalled = true;
+                    subscriber.evicted = true;
+                    resizeDispatcher(1);
+                }
+            }
+            if (stalled) {
+                logger.debug("Evicting menu event subscriber after a write blocked for over {} ms", writeTimeoutMs);
+                unregister(subscriber);
+                subscriber.queue.clear();
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+            OutboundEvent event;
+            while (!subscriber.evicted && (event = subscriber.queue.poll()) != null) {
+                send(subscriber, SseEmitter.event()
+                        .id(event.id)
+                        .name(EVENT_NAME)
+                        .data(event.json, MediaType.APPLICATION_JSON));
+            }
+            if (subscriber.evicted) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event offered after the last poll but before the flag was cleared still needs a drain
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sendStartedNanos = 0;
+                if (subscriber.stalled) {
+                    // The write that was stuck has returned; give back the thread lent for it
+                    subscriber.stalled = false;
+                    resizeDispatcher(-1);
+                }
+            }
+        }
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        int size = dispatcher.getCorePoolSize() + delta;
+        // The core size may never exceed the maximum, so grow the maximum first and shrink it last
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long restaurantId : subscriber.restaurantIds) {
+            subscribersByRestaurant.computeIfPresent(restaurantId, (id, restaurantSubscribers) -> {
+                restaurantSubscribers.remove(subscriber);
+                return restaurantSubscribers.isEmpty() ? null : restaurantSubscribers;
+            });
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> restaurantIds;
+        private final Queue<OutboundEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        // 0 while no write is in progress; stalled stays set until the overrunning write returns
+        private volatile long sendStartedNanos;
+        private boolean stalled;
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, Set<Long> restaurantIds, int bufferSize) {
+            this.emitter = emitter;
+            this.restaurantIds = restaurantIds;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private static final class OutboundEvent {
+        private final String id;
+        private final String json;
+
+        private OutboundEvent(String id, String json) {
+            this.id = id;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.config.BinaryFormatConfig;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.model.MenuItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of a menu snapshot body in each {@link MenuFormat}, with and without gzip,
+ * over generated menus of typical sizes. The mappers are the ones {@link BinaryFormatConfig}
+ * registers. Bytes on the wire for every format are printed once per menu size during setup.
+ *
+ * <p>Run with {@code mvn -pl restaurant-service -am test-compile exec:java
+ * -Dexec.mainClass=com.fooddelivery.restaurant.cache.MenuEncodingBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuEncodingBenchmark {
+
+    @Param({"20", "80", "300"})
+    private int items;
+
+    private List<MenuItemSummary> menu;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @Setup
+    public void setUp() throws IOException {
+        BinaryFormatConfig config = new BinaryFormatConfig();
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        menu = menu(items);
+
+        byte[] jsonBody = json.writeValueAsBytes(menu);
+        byte[] cborBody = cbor.writeValueAsBytes(menu);
+        byte[] smileBody = smile.writeValueAsBytes(menu);
+        System.out.printf("%n%d items, bytes (gzipped): json %d (%d), cbor %d (%d), smile %d (%d)%n", items,
+                jsonBody.length, gzip(jsonBody).length, cborBody.length, gzip(cborBody).length,
+                smileBody.length, gzip(smileBody).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(menu));
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor.writeValueAsBytes(menu));
+    }
+
+    @Benchmark
+    public byte[] smileGzip() throws IOException {
+        return gzip(smile.writeValueAsBytes(menu));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    // Fixed seed so every run encodes the same menus
+    private static List<MenuItemSummary> menu(int size) {
+        Random random = new Random(42);
+        String[] dishes = {"Paneer Tikka", "Chicken Biryani", "Margherita Pizza", "Caesar Salad", "Tomato Soup",
+                "Chocolate Brownie", "Masala Chai", "Pad Thai", "Veggie Burger", "Lamb Rogan Josh"};
+        MenuItem.Category[] categories = MenuItem.Category.values();
+        List<MenuItemSummary> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = 1000 + i;
+            String dish = dishes[i % dishes.length];
+            items.add(new MenuItemSummary(id, 7L, dish + " " + (i / dishes.length + 1),
+                    "House-made " + dish.toLowerCase() + " prepared fresh to order with seasonal ingredients",
+                    BigDecimal.valueOf(99 + random.nextInt(500), 0).add(BigDecimal.valueOf(random.nextInt(100), 2)),
+                    categories[random.nextInt(categories.length)],
+                    random.nextInt(10) == 0 ? MenuItem.Status.UNAVAILABLE : MenuItem.Status.AVAILABLE,
+                    "https://cdn.example.com/menu/7/" + id + ".jpg",
+                    random.nextBoolean(), random.nextInt(4) == 0, random.nextInt(3) == 0, (long) random.nextInt(5)));
+        }
+        return items;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MenuEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.RestaurantSummary;
+import com.fooddelivery.restaurant.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoIndexTest {
+
+    private final GeoIndex index = new GeoIndex();
+
+    @Test
+    void radiusIsInclusiveAndResultsAreNearestFirst() {
+        index.update(restaurant(1L, 12.93, 77.6, Restaurant.Status.ACTIVE));
+        index.update(restaurant(2L, 12.91, 77.6, Restaurant.Status.ACTIVE));
+        index.update(restaurant(3L, 13.5, 77.6, Restaurant.Status.ACTIVE));
+
+        double toSecond = GeoIndex.distanceKm(12.9, 77.6, 12.93, 77.6);
+        assertEquals(List.of(2L, 1L), ids(index.nearby(12.9, 77.6, toSecond, 10)));
+        assertEquals(List.of(2L), ids(index.nearby(12.9, 77.6, toSecond - 0.01, 10)));
+        assertEquals(List.of(2L), ids(index.nearby(12.9, 77.6, 50, 1)));
+    }
+
+    @Test
+    void findsNeighboursInAdjacentCells() {
+        index.update(restaurant(1L, 12.96, 77.62, Restaurant.Status.ACTIVE));
+
+        assertEquals(List.of(1L), ids(index.nearby(12.94, 77.58, 5, 10)));
+    }
+
+    @Test
+    void inactiveOrUnlocatedRestaurantsAreNotIndexed() {
+        index.update(restaurant(1L, 12.9, 77.6, Restaurant.Status.INACTIVE));
+        index.update(restaurant(2L, null, 77.6, Restaurant.Status.ACTIVE));
+        index.update(restaurant(3L, Double.NaN, 77.6, Restaurant.Status.ACTIVE));
+
+        assertTrue(index.nearby(12.9, 77.6, 10, 10).isEmpty());
+    }
+
+    @Test
+    void radiusOverThePoleCoversEveryLongitude() {
+        // About 11 km apart across the pole, on opposite meridians
+        index.update(restaurant(1L, 89.95, 120.0, Restaurant.Status.ACTIVE));
+
+        assertEquals(List.of(1L), ids(index.nearby(89.95, -60.0, 20, 10)));
+    }
+
+    @Test
+    void longitudeSpanWidensNearThePole() {
+        // About 96 km away, 60 degrees of longitude apart; the circle does not reach the pole
+        index.update(restaurant(1L, 89.5, 60.0, Restaurant.Status.ACTIVE));
+
+        assertEquals(List.of(1L), ids(index.nearby(89.0, 0.0, 100, 10)));
+    }
+
+    @Test
+    void removedRestaurantsAreNotFound() {
+        index.update(restaurant(1L, 12.9, 77.6, Restaurant.Status.ACTIVE));
+        index.remove(1L);
+
+        assertTrue(index.nearby(12.9, 77.6, 10, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<GeoIndex.Hit> hits) {
+        return hits.stream().map(GeoIndex.Hit::getRestaurantId).collect(Collectors.toList());
+    }
+
+    private static RestaurantSummary restaurant(Long id, Double latitude, Double longitude, Restaurant.Status status) {
+        return new RestaurantSummary(id, "Restaurant " + id, null, null, null, null, 1L, status, null,
+                latitude, longitude, 4.0, 10);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.dto.FacetedMenuResult;
+import com.fooddelivery.restaurant.dto.MenuFacetQuery;
+import com.fooddelivery.restaurant.dto.MenuItemSummary;
+import com.fooddelivery.restaurant.model.MenuItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MenuFacetsTest {
+
+    private final MenuFacets facets = new MenuFacets(List.of(
+            item(1L, MenuItem.Category.MAIN_COURSE, MenuItem.Status.AVAILABLE, "250", true, false, true),
+            item(2L, MenuItem.Category.MAIN_COURSE, MenuItem.Status.UNAVAILABLE, "300", false, false, false),
+            item(3L, MenuItem.Category.DESSERT, MenuItem.Status.AVAILABLE, "120", true, false, false),
+            item(4L, MenuItem.Category.MAIN_COURSE, MenuItem.Status.AVAILABLE, "180", true, true, false)));
+
+    @Test
+    void categoryCountsIgnoreTheCategoryFilterOnly() {
+        MenuFacetQuery query = new MenuFacetQuery();
+        query.setCategory(MenuItem.Category.MAIN_COURSE);
+        query.setVegetarian(true);
+
+        FacetedMenuResult result = facets.filter(query);
+
+        assertEquals(List.of(1L, 4L), ids(result));
+        assertEquals(2, result.getCategories().get(MenuItem.Category.MAIN_COURSE));
+        assertEquals(1, result.getCategories().get(MenuItem.Category.DESSERT));
+    }
+
+    @Test
+    void dietaryCountIgnoresItsOwnFilter() {
+        MenuFacetQuery query = new MenuFacetQuery();
+        query.setCategory(MenuItem.Category.MAIN_COURSE);
+        query.setVegetarian(false);
+
+        FacetedMenuResult result = facets.filter(query);
+
+        assertEquals(List.of(2L), ids(result));
+        // Vegetarian main courses, although the query excludes vegetarian items
+        assertEquals(2, result.getVegetarian());
+        // The other dietary counts keep the vegetarian filter
+        assertEquals(0, result.getVegan());
+        assertEquals(0, result.getSpicy());
+    }
+
+    @Test
+    void statusCountsIgnoreTheStatusFilterOnly() {
+        MenuFacetQuery query = new MenuFacetQuery();
+        query.setCategory(MenuItem.Category.MAIN_COURSE);
+        query.setStatus(MenuItem.Status.AVAILABLE);
+
+        FacetedMenuResult result = facets.filter(query);
+
+        assertEquals(List.of(1L, 4L), ids(result));
+        assertEquals(2, result.getStatuses().get(MenuItem.Status.AVAILABLE));
+        assertEquals(1, result.getStatuses().get(MenuItem.Status.UNAVAILABLE));
+    }
+
+    @Test
+    void priceRangeIsInclusiveAndNarrowsEveryCount() {
+        MenuFacetQuery query = new MenuFacetQuery();
+        query.setMinPrice(new BigDecimal("180"));
+        query.setMaxPrice(new BigDecimal("250"));
+
+        FacetedMenuResult result = facets.filter(query);
+
+        assertEquals(List.of(1L, 4L), ids(result));
+        assertEquals(0, result.getCategories().get(MenuItem.Category.DESSERT));
+        assertEquals(2, result.getVegetarian());
+    }
+
+    private static List<Long> ids(FacetedMenuResult result) {
+        return result.getItems().stream().map(MenuItemSummary::getId).collect(Collectors.toList());
+    }
+
+    private static MenuItemSummary item(Long id, MenuItem.Category category, MenuItem.Status status, String price,
+                                        boolean vegetarian, boolean vegan, boolean spicy) {
+        return new MenuItemSummary(id, 7L, "Item " + id, null, new BigDecimal(price), category, status, null,
+                vegetarian, vegan, spicy, 0L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fooddelivery.restaurant.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie<>();
+        trie.put("pizza", SuggestionTrie.keysFor("Pizza"), 1.0);
+    }
+
+    @Test
+    void oneEditWithinTheWordMatches() {
+        assertEquals(List.of("pizza"), trie.complete("pizxa", 5));
+    }
+
+    @Test
+    void oneInsertedCharacterMatchesAPrefix() {
+        assertEquals(List.of("pizza"), trie.complete("piza", 5));
+    }
+
+    @Test
+    void twoEditsDoNotMatch() {
+        assertTrue(trie.complete("pxzxa", 5).isEmpty());
+        assertTrue(trie.complete("pza", 5).isEmpty());
+    }
+
+    @Test
+    void fuzzyMatchingStartsAtThreeCharacters() {
+        assertEquals(List.of("pizza"), trie.complete("pjz", 5));
+        assertTrue(trie.complete("pj", 5).isEmpty());
+    }
+
+    @Test
+    void exactCompletionsComeBeforeFuzzyOnes() {
+        trie.put("pita", Collections.singletonList("pita"), 5.0);
+        trie.put("pitta", Collections.singletonList("pitta"), 1.0);
+
+        // "pitta" completes "pitt" exactly; "pita" only fuzzily, despite its higher weight
+        assertEquals(Arrays.asList("pitta", "pita"), trie.complete("pitt", 5));
+    }
+
+    @Test
+    void laterWordsOfANameComplete() {
+        trie.put("hut", SuggestionTrie.keysFor("Pizza Hut"), 2.0);
+
+        assertEquals(List.of("hut"), trie.complete("hu", 5));
+    }
+}
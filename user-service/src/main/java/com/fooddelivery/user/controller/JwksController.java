@@ -0,0 +1,28 @@
+package com.fooddelivery.user.controller;
+
+import com.fooddelivery.user.security.SigningKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class JwksController {
+
+    @Autowired
+    private SigningKeys signingKeys;
+
+    // The key set only changes on restart, so it is rendered once and clients may cache it briefly
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(signingKeys.getJwksJson());
+    }
+}
@@ -1,20 +1,30 @@
 package com.fooddelivery.user.controller;
 
+import com.fooddelivery.support.BulkImportResult;
 import com.fooddelivery.user.dto.JwtResponse;
 import com.fooddelivery.user.dto.LoginRequest;
 import com.fooddelivery.user.dto.UserRegistrationDto;
+import com.fooddelivery.user.exception.LoginThrottledException;
+import com.fooddelivery.user.exception.PasswordHashingRejectedException;
 import com.fooddelivery.user.model.User;
 import com.fooddelivery.user.security.JwtUtils;
+import com.fooddelivery.user.security.LoginAttemptThrottle;
 import com.fooddelivery.user.security.UserPrincipal;
 import com.fooddelivery.user.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.List;
 
@@ -32,22 +42,70 @@ public class UserController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    LoginAttemptThrottle loginAttemptThrottle;
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto signUpRequest) {
         try {
             User user = userService.registerUser(signUpRequest);
             return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importUsers(@RequestBody List<UserRegistrationDto> users) {
+        try {
+            BulkImportResult result = userService.importUsers(users);
+            if (result.hasErrors()) {
+                return ResponseEntity.badRequest().body(result);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()));
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        String account = loginRequest.getUsernameOrEmail();
+        LoginAttemptThrottle.Attempt attempt;
+        try {
+            attempt = loginAttemptThrottle.acquire(account, request.getRemoteAddr());
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(
+                            account,
+                            loginRequest.getPassword()));
+            attempt.succeeded();
+        } catch (BadCredentialsException e) {
+            attempt.failed();
+            throw e;
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable(e);
+        } catch (InternalAuthenticationServiceException e) {
+            // Hashing done inside the provider's user lookup reaches us wrapped
+            if (e.getCause() instanceof PasswordHashingRejectedException) {
+                return hashingUnavailable((PasswordHashingRejectedException) e.getCause());
+            }
+            throw e;
+        } finally {
+            attempt.release();
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -102,6 +160,12 @@ public class UserController {
         }
     }
 
+    private ResponseEntity<?> hashingUnavailable(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
     // Inner class for message responses
     public static class MessageResponse {
         private String message;
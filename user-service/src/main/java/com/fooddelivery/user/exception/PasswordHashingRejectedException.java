@@ -0,0 +1,7 @@
+package com.fooddelivery.user.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
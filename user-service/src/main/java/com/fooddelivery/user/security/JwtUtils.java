@@ -1,58 +1,129 @@
 package com.fooddelivery.user.security;
 
+import com.fooddelivery.jwt.JwtVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies the service's JWTs. Tokens are signed RS256 with the active key from
+ * {@link SigningKeys} and carry its {@code kid}, so any service can verify them locally with
+ * {@link JwtVerifier} against the published key set; {@code jwt.signing.algorithm: HS256} keeps
+ * the shared-secret scheme. Keys and parsers are built once at startup and shared. Verification
+ * is a single parse that hands back the claims, and tokens that already passed it are remembered
+ * by SHA-256 digest until they expire, so a client replaying the same token skips the signature
+ * check.
+ */
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.signing.algorithm:RS256}")
+    private SignatureAlgorithm algorithm;
+
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    @Autowired
+    private SigningKeys signingKeys;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private JwtVerifier jwtVerifier;
+    private Cache<ByteBuffer, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        if (algorithm == SignatureAlgorithm.RS256) {
+            signingKey = signingKeys.getActivePrivateKey();
+            jwtVerifier = new JwtVerifier(signingKeys::getPublicKey);
+        } else if (algorithm == SignatureAlgorithm.HS256) {
+            signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build();
+        } else {
+            throw new IllegalStateException("Unsupported jwt.signing.algorithm " + algorithm + ", use RS256 or HS256");
+        }
+        if (verifiedCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new UntilTokenExpiry())
+                    .build();
+        }
     }
 
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (jwtVerifier != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKeys.getActiveKeyId());
+        }
+        return builder
                 .setSubject((userPrincipal.getUsername()))
+                .claim(JwtVerifier.CLAIM_USER_ID, userPrincipal.getId())
+                .claim(JwtVerifier.CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(JwtVerifier.CLAIM_ROLES, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, algorithm)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Verifies signature and expiry and returns the token's claims, or {@code null} if the token
+     * is not valid. The returned claims may be shared between requests and must not be modified.
+     */
+    public Claims verifyJwtToken(String authToken) {
+        ByteBuffer digest = verifiedTokens == null ? null : digest(authToken);
+        if (digest != null) {
+            Claims cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtVerifier != null
+                    ? jwtVerifier.verify(authToken)
+                    : jwtParser.parseClaimsJws(authToken).getBody();
+            if (digest != null && claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -65,6 +136,58 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Rebuilds the principal a token was issued for from its verified claims, without touching
+     * the database. Returns {@code null} for tokens issued before the identity claims were added.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Long userId = claims.get(JwtVerifier.CLAIM_USER_ID, Long.class);
+        List<?> roles = claims.get(JwtVerifier.CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+
+        return new UserPrincipal(userId, claims.getSubject(), claims.get(JwtVerifier.CLAIM_EMAIL, String.class), null, authorities);
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        Claims claims = verifyJwtToken(token);
+        return claims == null ? null : claims.getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken) != null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,187 @@
+package com.fooddelivery.user.security;
+
+import com.fooddelivery.user.exception.LoginThrottledException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * In-memory login throttling over sliding windows: every attempt counts against the client IP,
+ * failed attempts count against the account, and a successful login clears the account's count.
+ * Attempts over either limit are refused before any password is hashed. An attempt still being
+ * checked holds a reservation against the account, so concurrent guesses cannot overshoot the
+ * account limit while their hashes are computed. Each window is an
+ * approximate sliding counter (the previous fixed window weighted by its overlap, plus the current
+ * one), so a tracked key costs a few fields no matter how many attempts it makes; the number of
+ * keys is bounded as well.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    @Value("${login-throttle.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${login-throttle.max-attempts-per-ip:50}")
+    private int maxAttemptsPerIp;
+
+    @Value("${login-throttle.max-failures-per-account:5}")
+    private int maxFailuresPerAccount;
+
+    @Value("${login-throttle.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    private Cache<String, SlidingWindow> ipAttempts;
+    private Cache<String, SlidingWindow> accountFailures;
+
+    @PostConstruct
+    public void init() {
+        ipAttempts = newWindowCache();
+        accountFailures = newWindowCache();
+    }
+
+    /**
+     * Records an attempt from {@code ip} and reserves one against {@code account}. The caller must
+     * resolve the returned attempt and release it once the credentials have been checked.
+     *
+     * @throws LoginThrottledException if the IP or the account is over its limit
+     */
+    public Attempt acquire(String account, String ip) {
+        long now = System.currentTimeMillis();
+        SlidingWindow failures = accountFailures.get(accountKey(account), key -> new SlidingWindow(windowMillis()));
+        if (!failures.tryReserve(now, maxFailuresPerAccount)) {
+            throw new LoginThrottledException("Too many failed login attempts for this account",
+                    failures.retryAfterSeconds(now));
+        }
+        SlidingWindow attempts = ipAttempts.get(ip, key -> new SlidingWindow(windowMillis()));
+        if (!attempts.tryAdd(now, maxAttemptsPerIp)) {
+            failures.release();
+            throw new LoginThrottledException("Too many login attempts from this address",
+                    attempts.retryAfterSeconds(now));
+        }
+        return new Attempt(failures);
+    }
+
+    private Cache<String, SlidingWindow> newWindowCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds * 2))
+                .build();
+    }
+
+    private long windowMillis() {
+        return windowSeconds * 1000;
+    }
+
+    private static String accountKey(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A reserved login attempt, used by the request thread only. At most one of {@link #succeeded()}
+     * and {@link #failed()} takes effect; {@link #release()} hands back a reservation neither resolved.
+     */
+    public static final class Attempt {
+        private final SlidingWindow accountWindow;
+        private boolean resolved;
+
+        private Attempt(SlidingWindow accountWindow) {
+            this.accountWindow = accountWindow;
+        }
+
+        public void succeeded() {
+            if (!resolved) {
+                resolved = true;
+                accountWindow.resolveSuccess();
+            }
+        }
+
+        public void failed() {
+            if (!resolved) {
+                resolved = true;
+                accountWindow.resolveFailure(System.currentTimeMillis());
+            }
+        }
+
+        public void release() {
+            if (!resolved) {
+                resolved = true;
+                accountWindow.release();
+            }
+        }
+    }
+
+    // Critical sections are a few arithmetic operations and never block
+    static final class SlidingWindow {
+        private final long windowMs;
+        private long windowStart;
+        private int previous;
+        private int current;
+        private int inFlight;
+
+        SlidingWindow(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        synchronized double count(long now) {
+            roll(now);
+            double previousWeight = 1.0 - (double) (now - windowStart) / windowMs;
+            return previous * previousWeight + current;
+        }
+
+        synchronized boolean tryAdd(long now, int limit) {
+            if (count(now) >= limit) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+
+        synchronized void add(long now) {
+            roll(now);
+            current++;
+        }
+
+        synchronized boolean tryReserve(long now, int limit) {
+            if (count(now) + inFlight >= limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void resolveFailure(long now) {
+            inFlight--;
+            add(now);
+        }
+
+        // Other attempts still in flight keep their reservations
+        synchronized void resolveSuccess() {
+            inFlight--;
+            previous = 0;
+            current = 0;
+        }
+
+        synchronized void release() {
+            inFlight--;
+        }
+
+        synchronized long retryAfterSeconds(long now) {
+            roll(now);
+            return Math.max(1, (windowStart + windowMs - now + 999) / 1000);
+        }
+
+        private void roll(long now) {
+            long start = now - now % windowMs;
+            if (start != windowStart) {
+                previous = start - windowStart == windowMs ? current : 0;
+                current = 0;
+                windowStart = start;
+            }
+        }
+    }
+}
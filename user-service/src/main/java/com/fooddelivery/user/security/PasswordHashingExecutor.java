@@ -0,0 +1,168 @@
+package com.fooddelivery.user.security;
+
+import com.fooddelivery.user.exception.PasswordHashingRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for BCrypt work. A fixed number of threads does all hashing, so a flood of
+ * logins can use at most those cores, and a short queue caps how many callers wait on them. When
+ * the queue is full a hash is refused immediately, rather than tying up a request thread that
+ * other endpoints need.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final long MIN_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 200;
+
+    @Value("${password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${password-hashing.batch-max-in-flight:0}")
+    private int batchMaxInFlight;
+
+    @Value("${password-hashing.batch-timeout-ms:30000}")
+    private long batchTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private int batchPermits;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        batchPermits = batchMaxInFlight > 0 ? batchMaxInFlight : Math.max(1, poolSize / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     *
+     * @throws PasswordHashingRejectedException if the queue is full or the result does not arrive in time
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Password hashing capacity exceeded");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Runs a batch on the hashing pool and returns the results in task order. At most
+     * {@code password-hashing.batch-max-in-flight} tasks (half the pool by default) are queued or
+     * running at a time, so a large batch leaves the queue, and part of the pool, to logins. When
+     * logins have filled the queue the batch backs off and retries rather than failing, but the
+     * whole batch must finish within {@code password-hashing.batch-timeout-ms}.
+     *
+     * @throws PasswordHashingRejectedException if the batch does not finish before its deadline
+     */
+    public <T> List<T> executeAll(List<? extends Callable<T>> tasks) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMs);
+        Semaphore inFlight = new Semaphore(batchPermits);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                if (!inFlight.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                    throw new PasswordHashingRejectedException("Password hashing timed out");
+                }
+                futures.add(submitWithBackoff(() -> {
+                    try {
+                        return task.call();
+                    } finally {
+                        inFlight.release();
+                    }
+                }, inFlight, deadline));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            throw new PasswordHashingRejectedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } finally {
+            // No-op for completed tasks; stops the rest of a batch that failed part way
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Future<T> submitWithBackoff(Callable<T> task, Semaphore inFlight, long deadline) throws InterruptedException {
+        long backoffMs = MIN_BACKOFF_MS;
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (remainingNanos(deadline) <= TimeUnit.MILLISECONDS.toNanos(backoffMs)) {
+                    inFlight.release();
+                    throw new PasswordHashingRejectedException("Password hashing capacity exceeded");
+                }
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return new IllegalStateException("Password hashing failed", e.getCause());
+    }
+}
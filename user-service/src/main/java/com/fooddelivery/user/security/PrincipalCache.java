@@ -0,0 +1,61 @@
+package com.fooddelivery.user.security;
+
+import com.fooddelivery.user.service.CustomUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Optional bounded cache of database-backed principals, keyed by user id. Disabled unless
+ * {@code jwt.principal-cache.ttl-seconds} is positive; when enabled, authentication reflects
+ * deleted users within one TTL instead of at token expiry, at the cost of one query per user per
+ * TTL. Entries are evicted as soon as the user is updated or deleted through this service.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${jwt.principal-cache.ttl-seconds:0}")
+    private long ttlSeconds;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private Cache<Long, UserPrincipal> principals;
+
+    @PostConstruct
+    public void init() {
+        if (ttlSeconds > 0) {
+            principals = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .build();
+        }
+    }
+
+    public boolean isEnabled() {
+        return principals != null;
+    }
+
+    public UserPrincipal get(Long userId) {
+        return principals.get(userId, id -> withoutPassword((UserPrincipal) userDetailsService.loadUserById(id)));
+    }
+
+    public void evict(Long userId) {
+        if (principals != null) {
+            principals.invalidate(userId);
+        }
+    }
+
+    private static UserPrincipal withoutPassword(UserPrincipal principal) {
+        return new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(), null,
+                principal.getAuthorities());
+    }
+}
@@ -0,0 +1,117 @@
+package com.fooddelivery.user.security;
+
+import com.fooddelivery.jwt.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RSA keys for RS256 tokens. New tokens are signed with the active key, configured as a PKCS#8
+ * PEM in {@code jwt.signing.private-key-location}; its public half is derived from it. Rotation
+ * moves the previous key's public PEM to {@code jwt.signing.retired-public-key-locations}, where
+ * it keeps verifying and being published until its last tokens expire. Key ids are RFC 7638
+ * thumbprints. Without a configured key an ephemeral one is generated, for local runs only.
+ */
+@Component
+public class SigningKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeys.class);
+
+    @Value("${jwt.signing.private-key-location:}")
+    private String privateKeyLocation;
+
+    @Value("${jwt.signing.retired-public-key-locations:}")
+    private List<String> retiredPublicKeyLocations;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    private String activeKeyId;
+    private RSAPrivateKey activePrivateKey;
+    private Map<String, RSAPublicKey> publicKeys;
+    private String jwksJson;
+
+    @PostConstruct
+    public void init() throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        RSAPublicKey activePublicKey;
+        if (privateKeyLocation.trim().isEmpty()) {
+            logger.warn("No jwt.signing.private-key-location set, signing with an ephemeral RSA key; "
+                    + "tokens will not verify after a restart or on other instances");
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            activePrivateKey = (RSAPrivateKey) keyPair.getPrivate();
+            activePublicKey = (RSAPublicKey) keyPair.getPublic();
+        } else {
+            RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey) keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(readPem(privateKeyLocation.trim())));
+            activePrivateKey = privateKey;
+            activePublicKey = (RSAPublicKey) keyFactory.generatePublic(
+                    new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+        }
+
+        Map<String, RSAPublicKey> keys = new LinkedHashMap<>();
+        activeKeyId = Jwks.thumbprint(activePublicKey);
+        keys.put(activeKeyId, activePublicKey);
+        for (String location : retiredPublicKeyLocations) {
+            if (location.trim().isEmpty()) {
+                continue;
+            }
+            RSAPublicKey retired = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(readPem(location.trim())));
+            keys.put(Jwks.thumbprint(retired), retired);
+        }
+        publicKeys = Collections.unmodifiableMap(keys);
+        jwksJson = Jwks.toJson(publicKeys);
+        logger.info("Signing tokens with key {}, {} key(s) published", activeKeyId, publicKeys.size());
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public RSAPrivateKey getActivePrivateKey() {
+        return activePrivateKey;
+    }
+
+    public RSAPublicKey getPublicKey(String keyId) {
+        return publicKeys.get(keyId);
+    }
+
+    public String getJwksJson() {
+        return jwksJson;
+    }
+
+    private byte[] readPem(String location) throws IOException {
+        String pem;
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            pem = StreamUtils.copyToString(in, StandardCharsets.US_ASCII);
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
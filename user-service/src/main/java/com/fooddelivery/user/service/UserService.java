@@ -1,34 +1,68 @@
 package com.fooddelivery.user.service;
 
+import com.fooddelivery.support.BulkImportResult;
 import com.fooddelivery.user.dto.UserRegistrationDto;
 import com.fooddelivery.user.exception.UserAlreadyExistsException;
 import com.fooddelivery.user.model.User;
 import com.fooddelivery.user.repository.UserRepository;
+import com.fooddelivery.user.security.BoundedPasswordEncoder;
+import com.fooddelivery.user.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    // BCrypt costs tens of milliseconds per row, so a batch has to fit within the hashing batch timeout
+    public static final int MAX_IMPORT_ROWS = 500;
+
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(username, email, password, full_name, phone_number, address, role, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private BoundedPasswordEncoder passwordEncoder;
 
-    public User registerUser(UserRegistrationDto registrationDto) {
-        if (userRepository.existsByUsername(registrationDto.getUsername())) {
-            throw new UserAlreadyExistsException("Username is already taken!");
-        }
+    @Autowired
+    private PrincipalCache principalCache;
 
-        if (userRepository.existsByEmail(registrationDto.getEmail())) {
-            throw new UserAlreadyExistsException("Email address already in use!");
-        }
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
 
+    /**
+     * Inserts the user in one statement and lets the unique constraints on username and email
+     * reject duplicates, so there is no check-then-insert race between concurrent registrations.
+     */
+    public User registerUser(UserRegistrationDto registrationDto) {
         User user = new User();
         user.setUsername(registrationDto.getUsername());
         user.setEmail(registrationDto.getEmail());
@@ -37,7 +71,65 @@ public class UserService {
         user.setPhoneNumber(registrationDto.getPhoneNumber());
         user.setAddress(registrationDto.getAddress());
 
-        return userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExists(e);
+        }
+    }
+
+    /**
+     * Imports a batch of users, all or nothing. Every row is validated and checked for duplicate
+     * usernames and emails, both within the batch and against existing users, before anything is
+     * written; passwords are then hashed in parallel and the rows inserted with JDBC batches.
+     */
+    public BulkImportResult importUsers(List<UserRegistrationDto> rows) {
+        if (rows.size() > MAX_IMPORT_ROWS) {
+            throw new IllegalArgumentException("Bulk import is limited to " + MAX_IMPORT_ROWS + " rows per request");
+        }
+
+        List<BulkImportResult.RowError> errors = new ArrayList<>();
+        Map<String, Integer> usernameRows = new HashMap<>();
+        Map<String, Integer> emailRows = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserRegistrationDto row = rows.get(i);
+            if (row == null) {
+                errors.add(new BulkImportResult.RowError(i + 1, "Row is empty"));
+                continue;
+            }
+            for (ConstraintViolation<UserRegistrationDto> violation : validator.validate(row)) {
+                errors.add(new BulkImportResult.RowError(i + 1, violation.getPropertyPath() + ": " + violation.getMessage()));
+            }
+            Integer firstUsernameRow = row.getUsername() == null ? null : usernameRows.putIfAbsent(row.getUsername(), i + 1);
+            if (firstUsernameRow != null) {
+                errors.add(new BulkImportResult.RowError(i + 1, "Username duplicates row " + firstUsernameRow));
+            }
+            Integer firstEmailRow = row.getEmail() == null ? null : emailRows.putIfAbsent(row.getEmail(), i + 1);
+            if (firstEmailRow != null) {
+                errors.add(new BulkImportResult.RowError(i + 1, "Email duplicates row " + firstEmailRow));
+            }
+        }
+        for (String username : findExisting(usernameRows.keySet(), true)) {
+            errors.add(new BulkImportResult.RowError(usernameRows.get(username), "Username is already taken!"));
+        }
+        for (String email : findExisting(emailRows.keySet(), false)) {
+            errors.add(new BulkImportResult.RowError(emailRows.get(email), "Email address already in use!"));
+        }
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(BulkImportResult.RowError::getRow));
+            return new BulkImportResult(rows.size(), 0, errors);
+        }
+
+        List<String> passwordHashes = passwordEncoder.encodeAll(rows.stream()
+                .map(UserRegistrationDto::getPassword)
+                .collect(Collectors.toList()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertInBatches(rows, passwordHashes));
+        } catch (DataIntegrityViolationException e) {
+            // A user registered between the duplicate check and the insert
+            throw alreadyExists(e);
+        }
+        return new BulkImportResult(rows.size(), rows.size(), errors);
     }
 
     public Optional<User> findByUsername(String username) {
@@ -64,7 +156,9 @@ public class UserService {
         user.setPhoneNumber(userDto.getPhoneNumber());
         user.setAddress(userDto.getAddress());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.evict(id);
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
@@ -72,5 +166,53 @@ public class UserService {
             throw new RuntimeException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        principalCache.evict(id);
+    }
+
+    private Set<String> findExisting(Set<String> values, boolean usernames) {
+        Set<String> existing = new HashSet<>();
+        List<String> chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+        for (String value : values) {
+            chunk.add(value);
+            if (chunk.size() == IMPORT_BATCH_SIZE) {
+                existing.addAll(usernames ? userRepository.findExistingUsernames(chunk) : userRepository.findExistingEmails(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existing.addAll(usernames ? userRepository.findExistingUsernames(chunk) : userRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    private void insertInBatches(List<UserRegistrationDto> rows, List<String> passwordHashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> indexes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            indexes.add(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, indexes, IMPORT_BATCH_SIZE, (statement, i) -> {
+            UserRegistrationDto row = rows.get(i);
+            statement.setString(1, row.getUsername());
+            statement.setString(2, row.getEmail());
+            statement.setString(3, passwordHashes.get(i));
+            statement.setString(4, row.getFullName());
+            statement.setString(5, row.getPhoneNumber());
+            statement.setString(6, row.getAddress());
+            statement.setString(7, User.Role.CUSTOMER.name());
+            statement.setTimestamp(8, now);
+            statement.setTimestamp(9, now);
+        });
+    }
+
+    private static RuntimeException alreadyExists(DataIntegrityViolationException e) {
+        String detail = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+        if (detail.contains(User.USERNAME_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Username is already taken!");
+        }
+        if (detail.contains(User.EMAIL_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Email address already in use!");
+        }
+        return e;
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.fooddelivery.user.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of verifying a bearer token. {@code legacyHs256} is what the filter paid before
+ * verification was restructured: a key and a parser built per call and the token verified twice,
+ * once by {@code validateJwtToken} and once by {@code getUserNameFromJwtToken}. The other cases go
+ * through {@link JwtUtils#verifyJwtToken} with the verified-token cache off ({@code Uncached}) and
+ * on, replaying one token ({@code Cached}).
+ *
+ * <p>Run with {@code mvn -pl user-service -am test-compile exec:java
+ * -Dexec.mainClass=com.fooddelivery.user.security.JwtVerificationBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-at-least-256-bits-long";
+
+    private JwtUtils hs256Uncached;
+    private JwtUtils hs256Cached;
+    private JwtUtils rs256Uncached;
+    private JwtUtils rs256Cached;
+    private String hs256Token;
+    private String rs256Token;
+
+    @Setup
+    public void setUp() throws Exception {
+        SigningKeys signingKeys = new SigningKeys();
+        ReflectionTestUtils.setField(signingKeys, "privateKeyLocation", "");
+        ReflectionTestUtils.setField(signingKeys, "retiredPublicKeyLocations", Collections.emptyList());
+        ReflectionTestUtils.setField(signingKeys, "resourceLoader", new DefaultResourceLoader());
+        signingKeys.init();
+
+        hs256Uncached = jwtUtils(SignatureAlgorithm.HS256, 0, signingKeys);
+        hs256Cached = jwtUtils(SignatureAlgorithm.HS256, 10000, signingKeys);
+        rs256Uncached = jwtUtils(SignatureAlgorithm.RS256, 0, signingKeys);
+        rs256Cached = jwtUtils(SignatureAlgorithm.RS256, 10000, signingKeys);
+
+        UserPrincipal principal = new UserPrincipal(42L, "bench-user", "bench@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        hs256Token = hs256Uncached.generateJwtToken(authentication);
+        rs256Token = rs256Uncached.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String legacyHs256() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(hs256Token);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(hs256Token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String hs256Uncached() {
+        return hs256Uncached.verifyJwtToken(hs256Token).getSubject();
+    }
+
+    @Benchmark
+    public String hs256Cached() {
+        return hs256Cached.verifyJwtToken(hs256Token).getSubject();
+    }
+
+    @Benchmark
+    public String rs256Uncached() {
+        return rs256Uncached.verifyJwtToken(rs256Token).getSubject();
+    }
+
+    @Benchmark
+    public String rs256Cached() {
+        return rs256Cached.verifyJwtToken(rs256Token).getSubject();
+    }
+
+    private static JwtUtils jwtUtils(SignatureAlgorithm algorithm, long verifiedCacheSize, SigningKeys signingKeys) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "algorithm", algorithm);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "signingKeys", signingKeys);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
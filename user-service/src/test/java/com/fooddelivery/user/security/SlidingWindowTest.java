@@ -0,0 +1,94 @@
+package com.fooddelivery.user.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowTest {
+
+    private static final long WINDOW_MS = 1000;
+    private static final double DELTA = 1e-9;
+
+    private final LoginAttemptThrottle.SlidingWindow window = new LoginAttemptThrottle.SlidingWindow(WINDOW_MS);
+
+    @Test
+    void previousWindowFadesOutOverTheCurrentOne() {
+        addAt(10_000, 4);
+
+        assertEquals(4, window.count(10_500), DELTA);
+        assertEquals(4, window.count(11_000), DELTA);
+        assertEquals(2, window.count(11_500), DELTA);
+        assertEquals(1, window.count(11_750), DELTA);
+        assertEquals(0, window.count(12_000), DELTA);
+    }
+
+    @Test
+    void windowsSkippedEntirelyCarryNothingOver() {
+        addAt(10_000, 4);
+
+        assertEquals(0, window.count(12_500), DELTA);
+        assertEquals(0, window.count(15_000), DELTA);
+    }
+
+    @Test
+    void rollOverKeepsCurrentCountsAndWeighsPrevious() {
+        addAt(10_200, 2);
+        addAt(11_100, 3);
+
+        assertEquals(2 * 0.9 + 3, window.count(11_100), DELTA);
+        assertEquals(3 * 0.5, window.count(12_500), DELTA);
+    }
+
+    @Test
+    void tryAddStopsAtTheLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(window.tryAdd(10_000, 3));
+        }
+        assertFalse(window.tryAdd(10_999, 3));
+        // Halfway into the next window the three attempts weigh 1.5
+        assertTrue(window.tryAdd(11_500, 3));
+    }
+
+    @Test
+    void retryAfterIsTheRestOfTheCurrentWindow() {
+        assertEquals(1, window.retryAfterSeconds(10_999));
+        assertEquals(1, window.retryAfterSeconds(10_000));
+    }
+
+    @Test
+    void inFlightReservationsCountAgainstTheLimit() {
+        assertTrue(window.tryReserve(10_000, 2));
+        assertTrue(window.tryReserve(10_000, 2));
+        assertFalse(window.tryReserve(10_000, 2));
+
+        window.release();
+        assertTrue(window.tryReserve(10_000, 2));
+
+        window.resolveFailure(10_000);
+        window.resolveFailure(10_000);
+        assertEquals(2, window.count(10_000), DELTA);
+        assertFalse(window.tryReserve(10_000, 2));
+    }
+
+    @Test
+    void successClearsFailuresButKeepsOtherReservations() {
+        window.add(10_000);
+        assertTrue(window.tryReserve(10_000, 3));
+        assertTrue(window.tryReserve(10_000, 3));
+
+        window.resolveSuccess();
+
+        assertEquals(0, window.count(10_000), DELTA);
+        assertTrue(window.tryReserve(10_000, 3));
+        assertTrue(window.tryReserve(10_000, 3));
+        assertFalse(window.tryReserve(10_000, 3));
+    }
+
+    private void addAt(long now, int times) {
+        for (int i = 0; i < times; i++) {
+            window.add(now);
+        }
+    }
+}